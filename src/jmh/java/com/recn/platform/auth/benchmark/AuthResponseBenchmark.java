@@ -0,0 +1,67 @@
+package com.recn.platform.auth.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recn.platform.auth.config.JacksonConfig;
+import com.recn.platform.auth.dto.response.ApiResponse;
+import com.recn.platform.auth.dto.response.AuthResponse;
+import com.recn.platform.auth.entity.User;
+import com.recn.platform.auth.security.AuthorityRegistry;
+import com.recn.platform.auth.security.JwtUtil;
+import com.recn.platform.auth.security.UserPrincipal;
+import com.recn.platform.auth.service.AuthService;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response assembly after a successful login: AuthService.buildAuthResponse (private, invoked
+ * through a method handle) and Jackson serialization of the ApiResponse envelope.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthResponseBenchmark {
+
+    private MethodHandle buildAuthResponse;
+    private AuthService authService;
+    private ObjectMapper objectMapper;
+    private User user;
+    private UserPrincipal principal;
+    private String accessToken;
+    private String refreshToken;
+    private ApiResponse<AuthResponse> response;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Throwable {
+        JwtUtil jwtUtil = Fixtures.jwtUtil("HS256", 0);
+        AuthorityRegistry authorityRegistry = Fixtures.authorityRegistry(Fixtures.rbacService());
+        authService = Fixtures.construct(AuthService.class, jwtUtil);
+        objectMapper = new JacksonConfig().objectMapper();
+
+        user = Fixtures.user("STUDENT");
+        principal = new UserPrincipal(user, authorityRegistry.forUser(user));
+        accessToken = jwtUtil.generateAccessToken(principal, user.getUserId(), user.getUserType().name(), user.getTokenEpoch());
+        refreshToken = "benchmark-refresh-token";
+
+        Method method = AuthService.class.getDeclaredMethod(
+                "buildAuthResponse", User.class, String.class, String.class, UserPrincipal.class);
+        buildAuthResponse = MethodHandles.privateLookupIn(AuthService.class, MethodHandles.lookup()).unreflect(method);
+        response = ApiResponse.success("Login successful", buildAuthResponse());
+    }
+
+    @Benchmark
+    public AuthResponse buildAuthResponse() throws Throwable {
+        return (AuthResponse) buildAuthResponse.invoke(authService, user, accessToken, refreshToken, principal);
+    }
+
+    @Benchmark
+    public byte[] serializeApiResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
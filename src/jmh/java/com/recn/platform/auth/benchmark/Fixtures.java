@@ -0,0 +1,193 @@
+package com.recn.platform.auth.benchmark;
+
+import com.recn.platform.auth.entity.Permission;
+import com.recn.platform.auth.entity.Role;
+import com.recn.platform.auth.entity.SigningKey;
+import com.recn.platform.auth.entity.User;
+import com.recn.platform.auth.enums.UserType;
+import com.recn.platform.auth.maintenance.AdvisoryLock;
+import com.recn.platform.auth.repository.PermissionRepository;
+import com.recn.platform.auth.repository.RoleRepository;
+import com.recn.platform.auth.repository.SigningKeyRepository;
+import com.recn.platform.auth.security.AuthorityRegistry;
+import com.recn.platform.auth.security.JwtUtil;
+import com.recn.platform.auth.security.SigningKeyRing;
+import com.recn.platform.auth.security.VerifiedTokenCache;
+import com.recn.platform.auth.service.RbacService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Wires the production components used by the benchmarks without a Spring context or database.
+ * Repositories are replaced by in-memory proxies that implement only the methods the component calls.
+ */
+final class Fixtures {
+
+    static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private static final String[] ROLES = {"SUPER_ADMIN", "CAMPUS_ADMIN", "STUDENT", "COMPANY_RECRUITER"};
+    private static final String[] PERMISSIONS = {
+            "VIEW_DASHBOARD", "MANAGE_CAMPUSES", "MANAGE_STUDENTS", "MANAGE_COMPANIES", "VIEW_ANALYTICS"
+    };
+
+    private Fixtures() {
+    }
+
+    static JwtUtil jwtUtil(String algorithm, long verifiedCacheSize) {
+        SigningKeyRing signingKeyRing = signingKeyRing(algorithm);
+        VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(verifiedCacheSize, new SimpleMeterRegistry());
+
+        JwtUtil jwtUtil = construct(JwtUtil.class, verifiedTokenCache, signingKeyRing);
+        ReflectionTestUtils.setField(jwtUtil, "accessTokenExpiration", 900_000L);
+        ReflectionTestUtils.setField(jwtUtil, "refreshTokenExpiration", 604_800_000L);
+        ReflectionTestUtils.setField(jwtUtil, "issuer", "recn-platform");
+        jwtUtil.init();
+        return jwtUtil;
+    }
+
+    static SigningKeyRing signingKeyRing(String algorithm) {
+        List<SigningKey> keys = new ArrayList<>();
+        SigningKeyRepository repository = stub(SigningKeyRepository.class, Map.of(
+                "findAllByOrderByActivatedAtAscKidAsc", args -> new ArrayList<>(keys),
+                "save", args -> {
+                    keys.add((SigningKey) args[0]);
+                    return args[0];
+                },
+                "deleteAllById", args -> null
+        ));
+
+        // A single node: the MySQL lock is always free
+        AdvisoryLock advisoryLock = new AdvisoryLock(null) {
+            @Override
+            public boolean runExclusively(String lockName, Duration wait, Runnable task) {
+                task.run();
+                return true;
+            }
+        };
+
+        SigningKeyRing ring = construct(SigningKeyRing.class, repository, new SimpleMeterRegistry(), advisoryLock);
+        ReflectionTestUtils.setField(ring, "secret", SECRET);
+        ReflectionTestUtils.setField(ring, "algorithm", algorithm);
+        ReflectionTestUtils.setField(ring, "rotationPeriod", Duration.ofDays(30));
+        ReflectionTestUtils.setField(ring, "publishAhead", Duration.ofHours(1));
+        ReflectionTestUtils.setField(ring, "overlap", Duration.ofDays(8));
+        ReflectionTestUtils.setField(ring, "acceptLegacyHmac", true);
+        ring.init();
+        return ring;
+    }
+
+    // RBAC snapshot matching V2__Seed_Roles_Permissions.sql
+    static RbacService rbacService() {
+        List<Permission> permissions = new ArrayList<>();
+        for (int i = 0; i < PERMISSIONS.length; i++) {
+            permissions.add(Permission.builder().permissionId(i + 1).permissionName(PERMISSIONS[i]).build());
+        }
+
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < ROLES.length; i++) {
+            if (i == 0) {
+                for (String permission : PERMISSIONS) {
+                    rows.add(new Object[]{i + 1, ROLES[i], permission});
+                }
+            } else {
+                rows.add(new Object[]{i + 1, ROLES[i], null});
+            }
+        }
+
+        RoleRepository roleRepository = stub(RoleRepository.class, Map.of(
+                "findRbacFingerprint", args -> "benchmark",
+                "findRolePermissionRows", args -> rows
+        ));
+        PermissionRepository permissionRepository = stub(PermissionRepository.class, Map.of(
+                "findAll", args -> permissions
+        ));
+        ApplicationEventPublisher eventPublisher = event -> {
+        };
+        // No second-level cache to evict on reload
+        Cache cache = stub(Cache.class, Map.of(
+                "evictEntityData", args -> null,
+                "evictCollectionData", args -> null
+        ));
+        SessionFactory sessionFactory = stub(SessionFactory.class, Map.of("getCache", args -> cache));
+        EntityManagerFactory entityManagerFactory = stub(EntityManagerFactory.class, Map.of(
+                "unwrap", args -> sessionFactory
+        ));
+
+        RbacService rbacService = construct(RbacService.class,
+                roleRepository, permissionRepository, eventPublisher, entityManagerFactory);
+        rbacService.init();
+        return rbacService;
+    }
+
+    static AuthorityRegistry authorityRegistry(RbacService rbacService) {
+        return construct(AuthorityRegistry.class, rbacService);
+    }
+
+    static User user(String roleName) {
+        int roleId = List.of(ROLES).indexOf(roleName) + 1;
+        Set<Role> roles = new HashSet<>();
+        roles.add(Role.builder().roleId(roleId).roleName(roleName).build());
+
+        return User.builder()
+                .userId("3f1c2a8e-6a0b-4a53-9a55-2f1f9b7c1d01")
+                .email("benchmark.user@recn.io")
+                .passwordHash("$2a$12$R9h/cIPz0gi.URNNX3kh2OPST9/PgBkqquzi.Ss7KIUgO2t0jWMUW")
+                .userType(roleId == 1 ? UserType.ADMIN : UserType.STUDENT)
+                .isVerified(true)
+                .isActive(true)
+                .profileCompleted(true)
+                .failedLoginAttempts(0)
+                .roles(roles)
+                .build();
+    }
+
+    // Instantiates a Spring component through its constructor, passing matching dependencies and null otherwise
+    static <T> T construct(Class<T> type, Object... dependencies) {
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructors()[0];
+            Class<?>[] parameterTypes = constructor.getParameterTypes();
+            Object[] arguments = new Object[parameterTypes.length];
+            for (int i = 0; i < parameterTypes.length; i++) {
+                for (Object dependency : dependencies) {
+                    if (parameterTypes[i].isInstance(dependency)) {
+                        arguments[i] = dependency;
+                        break;
+                    }
+                }
+            }
+            constructor.setAccessible(true);
+            return type.cast(constructor.newInstance(arguments));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot construct " + type.getSimpleName(), e);
+        }
+    }
+
+    static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> handlers) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> handler = handlers.get(method.getName());
+            if (handler != null) {
+                return handler.apply(args);
+            }
+            return switch (method.getName()) {
+                case "toString" -> type.getSimpleName() + "Stub";
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+            };
+        }));
+    }
+}
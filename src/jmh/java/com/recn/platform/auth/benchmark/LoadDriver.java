@@ -0,0 +1,186 @@
+package com.recn.platform.auth.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * HTTP load against a running instance, used to compare the platform-thread and virtual-thread
+ * execution modes end to end (JMH covers the in-process pieces).
+ *
+ * Drives login, refresh and /auth/me with a fixed number of concurrent clients, prints throughput
+ * and latency percentiles per scenario and writes them to a JSON file. When a previous result file
+ * is given, each scenario is printed next to it.
+ *
+ * Arguments: baseUrl email password concurrency seconds resultsFile [compareWithFile]
+ */
+public final class LoadDriver {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final String[] SCENARIOS = {"login", "refresh", "me"};
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String baseUrl;
+    private final String credentials;
+
+    private LoadDriver(String baseUrl, String email, String password) {
+        this.baseUrl = baseUrl;
+        this.credentials = MAPPER.createObjectNode().put("email", email).put("password", password).toString();
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadDriver driver = new LoadDriver(args[0], args[1], args[2]);
+        int concurrency = Integer.parseInt(args[3]);
+        Duration duration = Duration.ofSeconds(Long.parseLong(args[4]));
+        Path resultsFile = Path.of(args[5]);
+        JsonNode previous = args.length > 6 ? MAPPER.readTree(Path.of(args[6]).toFile()) : null;
+
+        ObjectNode results = MAPPER.createObjectNode();
+        for (String scenario : SCENARIOS) {
+            driver.run(scenario, concurrency, duration.dividedBy(5)); // warm-up, discarded
+            ObjectNode result = driver.run(scenario, concurrency, duration);
+            results.set(scenario, result);
+            print(scenario, result, previous == null ? null : previous.get(scenario));
+        }
+
+        Files.createDirectories(resultsFile.toAbsolutePath().getParent());
+        MAPPER.writeValue(resultsFile.toFile(), results);
+        System.out.println("Load results written to " + resultsFile);
+    }
+
+    private ObjectNode run(String scenario, int concurrency, Duration duration) throws Exception {
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<Samples>> futures = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            futures.add(workers.submit(() -> drive(scenario, deadline)));
+        }
+
+        Samples all = new Samples();
+        for (Future<Samples> future : futures) {
+            all.addAll(future.get());
+        }
+        workers.shutdown();
+        return all.summarize(duration);
+    }
+
+    // One client: logs in once for its own token pair, then repeats the scenario until the deadline
+    private Samples drive(String scenario, long deadline) throws Exception {
+        Samples samples = new Samples();
+        JsonNode tokens = login();
+        String refreshToken = tokens.path("refreshToken").asText();
+        String accessToken = tokens.path("accessToken").asText();
+
+        while (System.nanoTime() < deadline) {
+            HttpRequest request = switch (scenario) {
+                case "login" -> post("/auth/login", credentials);
+                case "refresh" -> post("/auth/refresh-token",
+                        MAPPER.createObjectNode().put("refreshToken", refreshToken).toString());
+                default -> HttpRequest.newBuilder(URI.create(baseUrl + "/auth/me"))
+                        .header("Authorization", "Bearer " + accessToken)
+                        .GET()
+                        .build();
+            };
+
+            long start = System.nanoTime();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            long elapsed = System.nanoTime() - start;
+
+            if (response.statusCode() / 100 == 2) {
+                samples.add(elapsed);
+                if (scenario.equals("refresh")) {
+                    // Refresh tokens are single-use; continue the chain with the rotated one
+                    refreshToken = MAPPER.readTree(response.body()).path("data").path("refreshToken").asText();
+                }
+            } else {
+                samples.errors++;
+            }
+        }
+        return samples;
+    }
+
+    private JsonNode login() throws Exception {
+        HttpResponse<String> response = client.send(post("/auth/login", credentials), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed with " + response.statusCode() + ": " + response.body());
+        }
+        return MAPPER.readTree(response.body()).path("data");
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static void print(String scenario, JsonNode result, JsonNode previous) {
+        System.out.printf("%-8s %10.1f req/s  p50 %7.2f ms  p99 %7.2f ms  max %8.2f ms  errors %d%n",
+                scenario, result.get("throughput").asDouble(), result.get("p50Ms").asDouble(),
+                result.get("p99Ms").asDouble(), result.get("maxMs").asDouble(), result.get("errors").asLong());
+        if (previous != null) {
+            System.out.printf("%-8s %10.1f req/s  p50 %7.2f ms  p99 %7.2f ms  (previous run)%n",
+                    "", previous.get("throughput").asDouble(), previous.get("p50Ms").asDouble(),
+                    previous.get("p99Ms").asDouble());
+        }
+    }
+
+    private static final class Samples {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        void add(long nanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.count; i++) {
+                add(other.latencies[i]);
+            }
+            errors += other.errors;
+        }
+
+        ObjectNode summarize(Duration duration) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return MAPPER.createObjectNode()
+                    .put("requests", count)
+                    .put("errors", errors)
+                    .put("throughput", count / (duration.toNanos() / 1e9))
+                    .put("p50Ms", percentile(sorted, 0.50))
+                    .put("p99Ms", percentile(sorted, 0.99))
+                    .put("maxMs", count == 0 ? 0 : sorted[count - 1] / 1e6);
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.recn.platform.auth.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Entry point of the perf profile.
+ *
+ * Runs every *Benchmark in this package single-threaded and again with one thread per core,
+ * writes the merged JMH JSON to the results file, then compares each score with the checked-in
+ * baseline and exits non-zero when any benchmark regressed by more than the threshold. A missing or
+ * empty baseline, a benchmark without a baseline entry and a baseline entry without a result (the
+ * benchmark failed or was removed) fail the gate as well; record a new baseline with
+ * -Dperf.updateBaseline=true.
+ *
+ * Arguments: baselineFile resultsFile threshold updateBaseline
+ */
+public final class PerfGate {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private PerfGate() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path baselineFile = Path.of(args[0]);
+        Path resultsFile = Path.of(args[1]);
+        double threshold = Double.parseDouble(args[2]);
+        boolean updateBaseline = Boolean.parseBoolean(args[3]);
+
+        int contendedThreads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        ArrayNode results = MAPPER.createArrayNode();
+        results.addAll(run(1, resultsFile.resolveSibling("jmh-result-1t.json")));
+        results.addAll(run(contendedThreads, resultsFile.resolveSibling("jmh-result-" + contendedThreads + "t.json")));
+
+        Files.createDirectories(resultsFile.toAbsolutePath().getParent());
+        MAPPER.writeValue(resultsFile.toFile(), results);
+        System.out.println("Benchmark results written to " + resultsFile);
+
+        if (updateBaseline) {
+            MAPPER.writeValue(baselineFile.toFile(), results);
+            System.out.println("Baseline updated: " + baselineFile);
+            return;
+        }
+
+        Map<String, JsonNode> baseline = readBaseline(baselineFile);
+        if (baseline.isEmpty()) {
+            System.err.println("No baseline entries in " + baselineFile + "; record one with -Dperf.updateBaseline=true");
+            System.exit(1);
+        }
+        int failures = compare(baseline, results, threshold);
+        if (failures > 0) {
+            System.err.printf("%d benchmark(s) regressed by more than %.0f%%, or have no baseline entry or no result%n",
+                    failures, threshold * 100);
+            System.exit(1);
+        }
+    }
+
+    private static ArrayNode run(int threads, Path output) throws Exception {
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        new Runner(new OptionsBuilder()
+                .include(PerfGate.class.getPackageName() + ".*Benchmark")
+                .threads(threads)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(output.toString())
+                .build())
+                .run();
+        return (ArrayNode) MAPPER.readTree(output.toFile());
+    }
+
+    private static Map<String, JsonNode> readBaseline(Path baselineFile) throws Exception {
+        Map<String, JsonNode> baseline = new HashMap<>();
+        if (!Files.exists(baselineFile)) {
+            return baseline;
+        }
+        for (JsonNode entry : MAPPER.readTree(baselineFile.toFile())) {
+            baseline.put(key(entry), entry);
+        }
+        return baseline;
+    }
+
+    private static int compare(Map<String, JsonNode> baseline, ArrayNode results, double threshold) {
+        int failures = 0;
+        for (JsonNode result : results) {
+            JsonNode previous = baseline.get(key(result));
+            if (previous == null) {
+                System.out.println("[NO BASELINE] " + key(result));
+                failures++;
+                continue;
+            }
+
+            double before = previous.path("primaryMetric").path("score").asDouble();
+            double after = result.path("primaryMetric").path("score").asDouble();
+            // Throughput: higher is better; every other mode reports time per operation
+            boolean higherIsBetter = "thrpt".equals(result.path("mode").asText());
+            double change = before == 0 ? 0 : (after - before) / before;
+            boolean regressed = higherIsBetter ? change < -threshold : change > threshold;
+
+            System.out.printf("%s %+6.1f%%  %s%n", regressed ? "[REGRESSED]" : "[ok]       ", change * 100, key(result));
+            if (regressed) {
+                failures++;
+            }
+        }
+
+        Set<String> measured = new HashSet<>();
+        results.forEach(result -> measured.add(key(result)));
+        for (String expected : baseline.keySet()) {
+            if (!measured.contains(expected)) {
+                System.out.println("[NO RESULT]   " + expected);
+                failures++;
+            }
+        }
+        return failures;
+    }
+
+    private static String key(JsonNode result) {
+        return result.path("benchmark").asText()
+                + result.path("params").toString()
+                + " threads=" + result.path("threads").asInt();
+    }
+}
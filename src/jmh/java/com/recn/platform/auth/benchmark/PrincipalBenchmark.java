@@ -0,0 +1,63 @@
+package com.recn.platform.auth.benchmark;
+
+import com.recn.platform.auth.entity.User;
+import com.recn.platform.auth.security.AuthorityRegistry;
+import com.recn.platform.auth.security.AuthoritySet;
+import com.recn.platform.auth.security.UserPrincipal;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authority resolution on the request path. Run with the GC profiler (PerfGate does) and check
+ * gc.alloc.rate.norm: getAuthorities and the registry lookups should allocate nothing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrincipalBenchmark {
+
+    private AuthorityRegistry authorityRegistry;
+    private UserPrincipal principal;
+    private User user;
+    private List<String> claimAuthorities;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        authorityRegistry = Fixtures.authorityRegistry(Fixtures.rbacService());
+        user = Fixtures.user("SUPER_ADMIN");
+        principal = new UserPrincipal(user, authorityRegistry.forUser(user));
+        claimAuthorities = List.copyOf(principal.getAuthorityNames());
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return principal.getAuthorities();
+    }
+
+    @Benchmark
+    public AuthoritySet registryForClaims() {
+        return authorityRegistry.forClaims(claimAuthorities);
+    }
+
+    @Benchmark
+    public AuthoritySet registryForUser() {
+        return authorityRegistry.forUser(user);
+    }
+
+    @Benchmark
+    public UserPrincipal principalFromClaims() {
+        return UserPrincipal.fromClaims(
+                principal.getUsername(),
+                principal.getUserId(),
+                principal.getUserType(),
+                authorityRegistry.forClaims(claimAuthorities)
+        );
+    }
+}
@@ -0,0 +1,43 @@
+package com.recn.platform.auth.controller;
+
+import com.recn.platform.auth.dto.response.ApiResponse;
+import com.recn.platform.auth.dto.response.RbacStatusResponse;
+import com.recn.platform.auth.security.RbacSnapshot;
+import com.recn.platform.auth.service.RbacService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Operational endpoints. Everything under /admin requires SUPER_ADMIN (see SecurityConfig).
+ */
+@RestController
+@RequestMapping("/admin")
+@RequiredArgsConstructor
+@Slf4j
+public class AdminController {
+
+    private final RbacService rbacService;
+
+    @GetMapping("/rbac")
+    public ResponseEntity<ApiResponse<RbacStatusResponse>> getRbacStatus() {
+        return ResponseEntity.ok(ApiResponse.success(toResponse(rbacService.getSnapshot())));
+    }
+
+    @PostMapping("/rbac/reload")
+    public ResponseEntity<ApiResponse<RbacStatusResponse>> reloadRbac() {
+        log.info("RBAC snapshot reload requested");
+        RbacSnapshot snapshot = rbacService.reload();
+        return ResponseEntity.ok(ApiResponse.success("RBAC snapshot reloaded", toResponse(snapshot)));
+    }
+
+    private RbacStatusResponse toResponse(RbacSnapshot snapshot) {
+        return RbacStatusResponse.builder()
+                .version(snapshot.getVersion())
+                .roles(snapshot.roleCount())
+                .permissions(snapshot.permissionCount())
+                .loadedAt(snapshot.getLoadedAt())
+                .build();
+    }
+}
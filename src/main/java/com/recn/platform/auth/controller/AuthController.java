@@ -7,17 +7,21 @@ import com.recn.platform.auth.dto.request.RegisterRequest;
 import com.recn.platform.auth.dto.request.SelectUserTypeRequest;
 import com.recn.platform.auth.dto.response.ApiResponse;
 import com.recn.platform.auth.dto.response.AuthResponse;
+import com.recn.platform.auth.monitoring.SqlBudget;
 import com.recn.platform.auth.security.UserPrincipal;
 import com.recn.platform.auth.service.AuthService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Set;
+
 @RestController
 @RequestMapping("/auth")
 @RequiredArgsConstructor
@@ -27,6 +31,7 @@ public class AuthController {
     private final AuthService authService;
 
     @PostMapping("/register")
+    @SqlBudget(4)
     public ResponseEntity<ApiResponse<AuthResponse>> register(@Valid @RequestBody RegisterRequest request) {
         log.info("Register request received for email: {}", request.getEmail());
         AuthResponse response = authService.register(request);
@@ -35,6 +40,7 @@ public class AuthController {
     }
 
     @PostMapping("/login")
+    @SqlBudget(5)
     public ResponseEntity<ApiResponse<AuthResponse>> login(
             @Valid @RequestBody LoginRequest request,
             HttpServletRequest httpRequest
@@ -45,6 +51,7 @@ public class AuthController {
     }
 
     @PostMapping("/refresh-token")
+    @SqlBudget(3)
     public ResponseEntity<ApiResponse<AuthResponse>> refreshToken(@Valid @RequestBody RefreshTokenRequest request) {
         log.info("Refresh token request received");
         AuthResponse response = authService.refreshToken(request);
@@ -52,13 +59,26 @@ public class AuthController {
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<ApiResponse<Void>> logout(@AuthenticationPrincipal UserPrincipal userPrincipal) {
+    @SqlBudget(2)
+    public ResponseEntity<ApiResponse<Void>> logout(
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @RequestHeader(HttpHeaders.AUTHORIZATION) String authorization
+    ) {
         log.info("Logout request received for user: {}", userPrincipal.getUserId());
-        authService.logout(userPrincipal.getUserId());
+        authService.logout(userPrincipal.getUserId(), authorization.substring("Bearer ".length()));
         return ResponseEntity.ok(ApiResponse.success("Logout successful", null));
     }
 
+    @PostMapping("/logout-all")
+    @SqlBudget(3)
+    public ResponseEntity<ApiResponse<Void>> logoutEverywhere(@AuthenticationPrincipal UserPrincipal userPrincipal) {
+        log.info("Logout-everywhere request received for user: {}", userPrincipal.getUserId());
+        authService.logoutEverywhere(userPrincipal.getUserId());
+        return ResponseEntity.ok(ApiResponse.success("Logged out on all devices", null));
+    }
+
     @GetMapping("/me")
+    @SqlBudget(0)
     public ResponseEntity<ApiResponse<Object>> getCurrentUser(@AuthenticationPrincipal UserPrincipal userPrincipal) {
         log.info("Get current user request for: {}", userPrincipal.getUsername());
         
@@ -66,14 +86,15 @@ public class AuthController {
             public final String userId = userPrincipal.getUserId();
             public final String email = userPrincipal.getUsername();
             public final String userType = userPrincipal.getUserType();
-            public final var roles = userPrincipal.getRoleNames();
-            public final var permissions = userPrincipal.getPermissionNames();
+            public final Set<String> roles = userPrincipal.getRoleNames();
+            public final Set<String> permissions = userPrincipal.getPermissionNames();
         };
         
         return ResponseEntity.ok(ApiResponse.success(userData));
     }
 
     @PostMapping("/profile/complete")
+    @SqlBudget(2)
     public ResponseEntity<ApiResponse<Void>> markProfileCompleted(
             @AuthenticationPrincipal UserPrincipal userPrincipal,
             @Valid @RequestBody ProfileCompletionRequest request
@@ -84,6 +105,7 @@ public class AuthController {
     }
 
     @PostMapping("/select-user-type")
+    @SqlBudget(4)
     public ResponseEntity<ApiResponse<Void>> selectUserType(
             @AuthenticationPrincipal UserPrincipal userPrincipal,
             @Valid @RequestBody SelectUserTypeRequest request
@@ -3,6 +3,7 @@ package com.recn.platform.auth.controller;
 import com.recn.platform.auth.dto.request.CampusRegistrationRequest;
 import com.recn.platform.auth.dto.response.ApiResponse;
 import com.recn.platform.auth.dto.response.CampusRegistrationResponse;
+import com.recn.platform.auth.monitoring.SqlBudget;
 import com.recn.platform.auth.security.UserPrincipal;
 import com.recn.platform.auth.service.CampusService;
 import jakarta.validation.Valid;
@@ -72,6 +73,7 @@ public class CampusRegistrationController {
      * Get Campus Profile
      */
     @GetMapping("/{campusId}")
+    @SqlBudget(1)
     public ResponseEntity<ApiResponse<CampusRegistrationResponse>> getCampus(
             @PathVariable String campusId,
             @AuthenticationPrincipal UserPrincipal userPrincipal
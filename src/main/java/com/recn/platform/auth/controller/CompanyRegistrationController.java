@@ -3,6 +3,7 @@ package com.recn.platform.auth.controller;
 import com.recn.platform.auth.dto.request.CompanyRegistrationRequest;
 import com.recn.platform.auth.dto.response.ApiResponse;
 import com.recn.platform.auth.dto.response.CompanyRegistrationResponse;
+import com.recn.platform.auth.monitoring.SqlBudget;
 import com.recn.platform.auth.security.UserPrincipal;
 import com.recn.platform.auth.service.CompanyService;
 import jakarta.validation.Valid;
@@ -61,6 +62,7 @@ public class CompanyRegistrationController {
      * Get Company Profile
      */
     @GetMapping("/{companyId}")
+    @SqlBudget(2) // cold cache: company + key people; none once both are cached
     public ResponseEntity<ApiResponse<CompanyRegistrationResponse>> getCompany(
             @PathVariable String companyId,
             @AuthenticationPrincipal UserPrincipal userPrincipal
@@ -0,0 +1,34 @@
+package com.recn.platform.auth.controller;
+
+import com.recn.platform.auth.security.SigningKeyRing;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Publishes the public signing keys so other RecN services can verify access tokens locally.
+ * Returned as a plain RFC 7517 JWK Set rather than wrapped in ApiResponse.
+ */
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+
+    private final SigningKeyRing signingKeyRing;
+
+    @Value("${jwt.signing.jwks-max-age:PT15M}")
+    private Duration jwksMaxAge;
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, List<Map<String, Object>>>> getJwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(jwksMaxAge).cachePublic())
+                .body(Map.of("keys", signingKeyRing.getPublishedJwks()));
+    }
+}
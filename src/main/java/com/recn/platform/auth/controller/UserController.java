@@ -1,16 +1,22 @@
 package com.recn.platform.auth.controller;
 
 import com.recn.platform.auth.dto.response.ApiResponse;
+import com.recn.platform.auth.dto.response.CursorPage;
 import com.recn.platform.auth.dto.response.UserResponse;
+import com.recn.platform.auth.enums.ExportFormat;
 import com.recn.platform.auth.enums.UserType;
+import com.recn.platform.auth.monitoring.SqlBudget;
+import com.recn.platform.auth.service.UserExportService;
 import com.recn.platform.auth.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/users")
@@ -19,9 +25,11 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final UserExportService userExportService;
 
     @GetMapping("/{userId}")
     @PreAuthorize("hasRole('SUPER_ADMIN') or @userSecurity.isOwner(authentication, #userId)")
+    @SqlBudget(1)
     public ResponseEntity<ApiResponse<UserResponse>> getUserById(@PathVariable String userId) {
         log.info("Get user by ID request: {}", userId);
         UserResponse user = userService.getUserById(userId);
@@ -30,6 +38,7 @@ public class UserController {
 
     @GetMapping("/email/{email}")
     @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @SqlBudget(1)
     public ResponseEntity<ApiResponse<UserResponse>> getUserByEmail(@PathVariable String email) {
         log.info("Get user by email request: {}", email);
         UserResponse user = userService.getUserByEmail(email);
@@ -38,30 +47,69 @@ public class UserController {
 
     @GetMapping
     @PreAuthorize("hasRole('SUPER_ADMIN')")
-    public ResponseEntity<ApiResponse<List<UserResponse>>> getAllUsers() {
-        log.info("Get all users request");
-        List<UserResponse> users = userService.getAllUsers();
+    @SqlBudget(2)
+    public ResponseEntity<ApiResponse<CursorPage<UserResponse>>> getAllUsers(
+            @RequestParam(required = false) UserType userType,
+            @RequestParam(required = false) Boolean isActive,
+            @RequestParam(required = false) Boolean isVerified,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        log.info("Get all users request: userType={}, isActive={}, isVerified={}", userType, isActive, isVerified);
+        CursorPage<UserResponse> users = userService.getAllUsers(userType, isActive, isVerified, cursor, size);
         return ResponseEntity.ok(ApiResponse.success(users));
     }
 
     @GetMapping("/type/{userType}")
     @PreAuthorize("hasRole('SUPER_ADMIN')")
-    public ResponseEntity<ApiResponse<List<UserResponse>>> getUsersByType(@PathVariable UserType userType) {
+    @SqlBudget(2)
+    public ResponseEntity<ApiResponse<CursorPage<UserResponse>>> getUsersByType(
+            @PathVariable UserType userType,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size
+    ) {
         log.info("Get users by type request: {}", userType);
-        List<UserResponse> users = userService.getUsersByType(userType);
+        CursorPage<UserResponse> users = userService.getUsersByType(userType, cursor, size);
         return ResponseEntity.ok(ApiResponse.success(users));
     }
 
     @GetMapping("/active")
     @PreAuthorize("hasRole('SUPER_ADMIN')")
-    public ResponseEntity<ApiResponse<List<UserResponse>>> getActiveUsers() {
+    @SqlBudget(2)
+    public ResponseEntity<ApiResponse<CursorPage<UserResponse>>> getActiveUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size
+    ) {
         log.info("Get active users request");
-        List<UserResponse> users = userService.getActiveUsers();
+        CursorPage<UserResponse> users = userService.getActiveUsers(cursor, size);
         return ResponseEntity.ok(ApiResponse.success(users));
     }
 
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestParam(required = false) UserType userType,
+            @RequestParam(required = false) Boolean isActive,
+            @RequestParam(required = false) Boolean isVerified
+    ) {
+        log.info("Export users request: format={}, userType={}, isActive={}, isVerified={}",
+                format, userType, isActive, isVerified);
+
+        boolean csv = format == ExportFormat.CSV;
+        StreamingResponseBody body = out -> userExportService.export(format, userType, isActive, isVerified, out);
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv") : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(csv ? "users.csv" : "users.ndjson")
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
     @PatchMapping("/{userId}/status")
     @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @SqlBudget(4)
     public ResponseEntity<ApiResponse<UserResponse>> updateUserStatus(
             @PathVariable String userId,
             @RequestParam boolean isActive
@@ -73,6 +121,7 @@ public class UserController {
 
     @PatchMapping("/{userId}/verify")
     @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @SqlBudget(3)
     public ResponseEntity<ApiResponse<UserResponse>> verifyUser(@PathVariable String userId) {
         log.info("Verify user request for ID: {}", userId);
         UserResponse user = userService.verifyUser(userId);
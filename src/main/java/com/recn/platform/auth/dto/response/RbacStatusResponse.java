@@ -0,0 +1,20 @@
+package com.recn.platform.auth.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RbacStatusResponse {
+
+    private String version;
+    private Integer roles;
+    private Integer permissions;
+    private LocalDateTime loadedAt;
+}
@@ -1,8 +1,12 @@
 package com.recn.platform.auth.entity;
 
+import com.recn.platform.auth.entity.id.BinaryUuidType;
+import com.recn.platform.auth.entity.id.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Type;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -17,14 +21,18 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "campuses")
 public class Campus {
 
     @Id
-    @UuidGenerator
-    @Column(name = "campus_id", length = 36, nullable = false, updatable = false)
+    @UuidV7
+    @Type(BinaryUuidType.class)
+    @Column(name = "campus_id", columnDefinition = "BINARY(16)", nullable = false, updatable = false)
     private String campusId;
 
-    @Column(name = "user_id", length = 36, nullable = false, unique = true)
+    @Type(BinaryUuidType.class)
+    @Column(name = "user_id", columnDefinition = "BINARY(16)", nullable = false, unique = true)
     private String userId;
 
     @Column(name = "campus_name", nullable = false)
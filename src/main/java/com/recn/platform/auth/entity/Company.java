@@ -1,8 +1,12 @@
 package com.recn.platform.auth.entity;
 
+import com.recn.platform.auth.entity.id.BinaryUuidType;
+import com.recn.platform.auth.entity.id.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Type;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -19,14 +23,18 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "companies")
 public class Company {
 
     @Id
-    @UuidGenerator
-    @Column(name = "company_id", length = 36, nullable = false, updatable = false)
+    @UuidV7
+    @Type(BinaryUuidType.class)
+    @Column(name = "company_id", columnDefinition = "BINARY(16)", nullable = false, updatable = false)
     private String companyId;
 
-    @Column(name = "user_id", length = 36, nullable = false, unique = true)
+    @Type(BinaryUuidType.class)
+    @Column(name = "user_id", columnDefinition = "BINARY(16)", nullable = false, unique = true)
     private String userId;
 
     @Column(name = "company_name", nullable = false)
@@ -56,8 +64,10 @@ public class Company {
     @Column(name = "register_number", length = 100)
     private String registerNumber;
 
+    // Cached as the list of key-person IDs; replacing the list in updateCompany evicts the entry
     @OneToMany(mappedBy = "company", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "company-key-people-by-company")
     private List<CompanyKeyPerson> keyPeople = new ArrayList<>();
 
     @Column(name = "about_company", columnDefinition = "TEXT")
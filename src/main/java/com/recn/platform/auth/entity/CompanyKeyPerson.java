@@ -1,8 +1,12 @@
 package com.recn.platform.auth.entity;
 
+import com.recn.platform.auth.entity.id.BinaryUuidType;
+import com.recn.platform.auth.entity.id.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Type;
 
 @Entity
 @Table(name = "company_key_people")
@@ -11,11 +15,14 @@ import org.hibernate.annotations.UuidGenerator;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "company-key-people")
 public class CompanyKeyPerson {
 
     @Id
-    @UuidGenerator
-    @Column(name = "key_person_id", length = 36, nullable = false, updatable = false)
+    @UuidV7
+    @Type(BinaryUuidType.class)
+    @Column(name = "key_person_id", columnDefinition = "BINARY(16)", nullable = false, updatable = false)
     private String keyPersonId;
 
     @ManyToOne(fetch = FetchType.LAZY)
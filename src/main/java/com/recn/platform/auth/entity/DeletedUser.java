@@ -0,0 +1,33 @@
+package com.recn.platform.auth.entity;
+
+import com.recn.platform.auth.entity.id.BinaryUuidType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Type;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "deleted_users", indexes = {
+    @Index(name = "idx_deleted_users_expires", columnList = "expires_at"),
+    @Index(name = "idx_deleted_users_deleted", columnList = "deleted_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeletedUser {
+
+    @Id
+    @Type(BinaryUuidType.class)
+    @Column(name = "user_id", columnDefinition = "BINARY(16)", nullable = false, updatable = false)
+    private String userId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    // Every access token of the user has expired by then; the row is only needed until then
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
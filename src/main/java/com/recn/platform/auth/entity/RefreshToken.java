@@ -1,8 +1,10 @@
 package com.recn.platform.auth.entity;
 
+import com.recn.platform.auth.entity.id.BinaryUuidType;
+import com.recn.platform.auth.entity.id.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.annotations.Type;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -11,7 +13,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "refresh_tokens", indexes = {
     @Index(name = "idx_user_id", columnList = "user_id"),
-    @Index(name = "idx_expires_at", columnList = "expires_at")
+    @Index(name = "idx_expires_at", columnList = "expires_at"),
+    @Index(name = "idx_refresh_tokens_revoked", columnList = "is_revoked, created_at")
 })
 @EntityListeners(AuditingEntityListener.class)
 @Getter
@@ -22,16 +25,18 @@ import java.time.LocalDateTime;
 public class RefreshToken {
 
     @Id
-    @UuidGenerator
-    @Column(name = "token_id", length = 36, nullable = false, updatable = false)
+    @UuidV7
+    @Type(BinaryUuidType.class)
+    @Column(name = "token_id", columnDefinition = "BINARY(16)", nullable = false, updatable = false)
     private String tokenId;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @Column(name = "token", nullable = false, unique = true, length = 500)
-    private String token;
+    // SHA-256 of the opaque token handed to the client
+    @Column(name = "token_hash", nullable = false, unique = true, columnDefinition = "BINARY(32)")
+    private byte[] tokenHash;
 
     @Column(name = "expires_at", nullable = false)
     private LocalDateTime expiresAt;
@@ -0,0 +1,34 @@
+package com.recn.platform.auth.entity;
+
+import com.recn.platform.auth.entity.id.BinaryUuidType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Type;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "revoked_access_tokens", indexes = {
+    @Index(name = "idx_revoked_access_tokens_expires", columnList = "expires_at"),
+    @Index(name = "idx_revoked_access_tokens_revoked", columnList = "revoked_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevokedAccessToken {
+
+    // jti claim of the revoked access token
+    @Id
+    @Type(BinaryUuidType.class)
+    @Column(name = "jti", columnDefinition = "BINARY(16)", nullable = false, updatable = false)
+    private String jti;
+
+    // exp of the token; the row is only needed until then
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+}
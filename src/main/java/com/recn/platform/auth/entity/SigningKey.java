@@ -0,0 +1,43 @@
+package com.recn.platform.auth.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "signing_keys", indexes = {
+    @Index(name = "idx_activated_at", columnList = "activated_at")
+})
+@EntityListeners(AuditingEntityListener.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SigningKey {
+
+    @Id
+    @Column(name = "kid", length = 64, nullable = false, updatable = false)
+    private String kid;
+
+    @Column(name = "algorithm", nullable = false, length = 10)
+    private String algorithm;
+
+    // X.509 SubjectPublicKeyInfo, Base64
+    @Column(name = "public_key", nullable = false, columnDefinition = "TEXT")
+    private String publicKey;
+
+    // PKCS#8, AES-GCM encrypted with a key derived from jwt.secret, Base64
+    @Column(name = "private_key", nullable = false, columnDefinition = "TEXT")
+    private String privateKey;
+
+    @Column(name = "activated_at", nullable = false)
+    private LocalDateTime activatedAt;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -1,9 +1,12 @@
 package com.recn.platform.auth.entity;
 
+import com.recn.platform.auth.entity.id.BinaryUuidType;
+import com.recn.platform.auth.entity.id.UuidV7;
 import com.recn.platform.auth.enums.UserType;
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.Type;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -13,11 +16,19 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@NamedEntityGraph(name = User.WITH_ROLES, attributeNodes = @NamedAttributeNode("roles"))
 @Table(name = "users", indexes = {
     @Index(name = "idx_email", columnList = "email"),
     @Index(name = "idx_user_type", columnList = "user_type"),
-    @Index(name = "idx_is_active", columnList = "is_active")
+    @Index(name = "idx_is_active", columnList = "is_active"),
+    @Index(name = "idx_account_locked_until", columnList = "account_locked_until"),
+    @Index(name = "idx_users_created", columnList = "created_at, user_id"),
+    @Index(name = "idx_users_type_created", columnList = "user_type, created_at, user_id"),
+    @Index(name = "idx_users_active_created", columnList = "is_active, created_at, user_id"),
+    @Index(name = "idx_users_token_epoch_changed", columnList = "token_epoch_changed_at")
 })
+// Only changed columns are written, so an unrelated save cannot roll back a concurrent token_epoch bump
+@DynamicUpdate
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
@@ -26,9 +37,13 @@ import java.util.Set;
 @Builder
 public class User {
 
+    // Roles only: authorities are resolved from role IDs against the in-memory RBAC snapshot
+    public static final String WITH_ROLES = "User.withRoles";
+
     @Id
-    @UuidGenerator
-    @Column(name = "user_id", length = 36, nullable = false, updatable = false)
+    @UuidV7
+    @Type(BinaryUuidType.class)
+    @Column(name = "user_id", columnDefinition = "BINARY(16)", nullable = false, updatable = false)
     private String userId;
 
     @Column(name = "email", nullable = false, unique = true)
@@ -65,6 +80,14 @@ public class User {
     @Column(name = "account_locked_until")
     private LocalDateTime accountLockedUntil;
 
+    // Bumped to invalidate every access token issued before; tokens carry it as the "epoch" claim
+    @Column(name = "token_epoch", nullable = false)
+    @Builder.Default
+    private Integer tokenEpoch = 0;
+
+    @Column(name = "token_epoch_changed_at")
+    private LocalDateTime tokenEpochChangedAt;
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -73,7 +96,7 @@ public class User {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
         name = "user_roles",
         joinColumns = @JoinColumn(name = "user_id"),
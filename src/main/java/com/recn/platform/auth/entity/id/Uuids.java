@@ -0,0 +1,77 @@
+package com.recn.platform.auth.entity.id;
+
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * UUIDv7 generation (RFC 9562) and conversion between the canonical string and its 16-byte form.
+ *
+ * The first 48 bits are the Unix time in milliseconds, so keys generated later sort after earlier
+ * ones both as bytes and as lower-case strings; the remaining 74 bits are random.
+ */
+public final class Uuids {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private Uuids() {
+    }
+
+    public static UUID v7() {
+        byte[] random = new byte[10];
+        RANDOM.nextBytes(random);
+        ByteBuffer buffer = ByteBuffer.wrap(random);
+
+        long msb = (System.currentTimeMillis() << 16)
+                | 0x7000L                                   // version 7
+                | (buffer.getShort() & 0x0FFFL);            // rand_a
+        long lsb = (buffer.getLong() & 0x3FFFFFFFFFFFFFFFL)
+                | 0x8000000000000000L;                      // IETF variant + rand_b
+        return new UUID(msb, lsb);
+    }
+
+    // Same byte order as MySQL UUID_TO_BIN(uuid) without the swap flag
+    public static byte[] toBytes(String uuid) {
+        UUID value = UUID.fromString(uuid);
+        return ByteBuffer.allocate(16)
+                .putLong(value.getMostSignificantBits())
+                .putLong(value.getLeastSignificantBits())
+                .array();
+    }
+
+    // Halves of a canonical UUID string, parsed without allocating
+    public static long mostSignificantBits(String uuid) {
+        return hexBits(uuid, 0, 18);
+    }
+
+    public static long leastSignificantBits(String uuid) {
+        return hexBits(uuid, 19, 36);
+    }
+
+    private static long hexBits(String uuid, int from, int to) {
+        if (uuid.length() != 36) {
+            throw new IllegalArgumentException("Invalid UUID: " + uuid);
+        }
+        long bits = 0;
+        for (int i = from; i < to; i++) {
+            char c = uuid.charAt(i);
+            if (c == '-') {
+                continue;
+            }
+            int digit = Character.digit(c, 16);
+            if (digit < 0) {
+                throw new IllegalArgumentException("Invalid UUID: " + uuid);
+            }
+            bits = (bits << 4) | digit;
+        }
+        return bits;
+    }
+
+    public static String fromBytes(byte[] bytes) {
+        if (bytes.length != 16) {
+            throw new IllegalArgumentException("Binary UUID must be 16 bytes, got " + bytes.length);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong()).toString();
+    }
+}
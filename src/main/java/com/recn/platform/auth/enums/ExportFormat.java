@@ -0,0 +1,6 @@
+package com.recn.platform.auth.enums;
+
+public enum ExportFormat {
+    NDJSON,
+    CSV
+}
@@ -0,0 +1,7 @@
+package com.recn.platform.auth.exception;
+
+public class PasswordMismatchException extends RuntimeException {
+    public PasswordMismatchException(String message) {
+        super(message);
+    }
+}
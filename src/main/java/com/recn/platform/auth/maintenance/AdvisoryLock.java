@@ -0,0 +1,67 @@
+package com.recn.platform.auth.maintenance;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Cluster-wide mutual exclusion through a MySQL named lock.
+ *
+ * GET_LOCK is bound to the session, so the lock is taken and released on one dedicated connection
+ * that stays open for the whole task. If the node dies, MySQL drops the session and the lock with it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AdvisoryLock {
+
+    private final DataSource dataSource;
+
+    // Runs the task if no other node holds the lock; returns false when skipped
+    public boolean runExclusively(String lockName, Runnable task) {
+        return runExclusively(lockName, Duration.ZERO, task);
+    }
+
+    // Waits up to {@code wait} for another node to release the lock; returns false when skipped
+    public boolean runExclusively(String lockName, Duration wait, Runnable task) {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!acquire(connection, lockName, wait)) {
+                log.debug("Advisory lock '{}' held by another node, skipping", lockName);
+                return false;
+            }
+            try {
+                task.run();
+                return true;
+            } finally {
+                release(connection, lockName);
+            }
+        } catch (SQLException e) {
+            log.warn("Advisory lock '{}' unavailable: {}", lockName, e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean acquire(Connection connection, String lockName, Duration wait) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            statement.setString(1, lockName);
+            statement.setLong(2, wait.toSeconds());
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getInt(1) == 1;
+            }
+        }
+    }
+
+    private void release(Connection connection, String lockName) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            statement.setString(1, lockName);
+            statement.execute();
+        }
+    }
+}
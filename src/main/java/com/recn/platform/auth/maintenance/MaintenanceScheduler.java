@@ -0,0 +1,188 @@
+package com.recn.platform.auth.maintenance;
+
+import com.recn.platform.auth.repository.DeletedUserRepository;
+import com.recn.platform.auth.repository.RefreshTokenRepository;
+import com.recn.platform.auth.repository.RevokedAccessTokenRepository;
+import com.recn.platform.auth.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Periodic cleanup of expired/revoked refresh tokens, expired access-token revocations, expired
+ * deleted-user tombstones and lapsed account locks.
+ *
+ * Work is done in LIMIT-bounded batches, each in its own transaction with a pause in between, so no
+ * statement holds InnoDB row locks for long. Only the node holding the advisory lock runs a pass.
+ * Passes run on a thread of their own rather than the shared @Scheduled one, which the batch pauses
+ * would otherwise hold up for every other scheduled job.
+ */
+@Component
+@Slf4j
+public class MaintenanceScheduler {
+
+    private static final String EXPIRED_TOKENS = "expired-refresh-tokens";
+    private static final String REVOKED_TOKENS = "revoked-refresh-tokens";
+    private static final String EXPIRED_LOCKS = "expired-account-locks";
+    private static final String EXPIRED_REVOCATIONS = "expired-access-token-revocations";
+    private static final String EXPIRED_TOMBSTONES = "expired-deleted-users";
+
+    private final AdvisoryLock advisoryLock;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RevokedAccessTokenRepository revokedAccessTokenRepository;
+    private final DeletedUserRepository deletedUserRepository;
+    private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+    private final ScheduledExecutorService executor =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("maintenance-"));
+
+    // Age of the oldest row still waiting for cleanup after the last pass
+    private final AtomicLong tokenLagSeconds = new AtomicLong();
+    private final AtomicLong lockLagSeconds = new AtomicLong();
+
+    @Value("${app.maintenance.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.maintenance.interval:PT10M}")
+    private Duration interval;
+
+    @Value("${app.maintenance.initial-delay:PT1M}")
+    private Duration initialDelay;
+
+    @Value("${app.maintenance.lock-name:recn-auth-maintenance}")
+    private String lockName;
+
+    @Value("${app.maintenance.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.maintenance.batch-pause:PT0.1S}")
+    private Duration batchPause;
+
+    @Value("${app.maintenance.max-batches-per-run:100}")
+    private int maxBatchesPerRun;
+
+    @Value("${app.maintenance.revoked-token-retention:P1D}")
+    private Duration revokedTokenRetention;
+
+    public MaintenanceScheduler(
+            AdvisoryLock advisoryLock,
+            RefreshTokenRepository refreshTokenRepository,
+            RevokedAccessTokenRepository revokedAccessTokenRepository,
+            DeletedUserRepository deletedUserRepository,
+            UserRepository userRepository,
+            MeterRegistry meterRegistry
+    ) {
+        this.advisoryLock = advisoryLock;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.revokedAccessTokenRepository = revokedAccessTokenRepository;
+        this.deletedUserRepository = deletedUserRepository;
+        this.userRepository = userRepository;
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("auth.maintenance.lag", tokenLagSeconds, AtomicLong::get)
+                .description("Age in seconds of the oldest expired row not yet cleaned up")
+                .baseUnit("seconds")
+                .tag("job", EXPIRED_TOKENS)
+                .register(meterRegistry);
+        Gauge.builder("auth.maintenance.lag", lockLagSeconds, AtomicLong::get)
+                .description("Age in seconds of the oldest expired row not yet cleaned up")
+                .baseUnit("seconds")
+                .tag("job", EXPIRED_LOCKS)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (enabled) {
+            executor.scheduleWithFixedDelay(this::run, initialDelay.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public void run() {
+        // An exception escaping here would cancel every later pass of the executor
+        try {
+            boolean ran = advisoryLock.runExclusively(lockName, this::runPass);
+            if (!ran) {
+                meterRegistry.counter("auth.maintenance.skipped").increment();
+            }
+        } catch (RuntimeException e) {
+            meterRegistry.counter("auth.maintenance.failures", "job", "pass").increment();
+            log.error("Maintenance pass failed: {}", e.getMessage());
+        }
+    }
+
+    private void runPass() {
+        LocalDateTime now = LocalDateTime.now();
+
+        runJob(EXPIRED_TOKENS, limit -> refreshTokenRepository.deleteExpiredTokensBatch(now, limit));
+        runJob(REVOKED_TOKENS, limit -> refreshTokenRepository.deleteRevokedTokensBatch(
+                now.minus(revokedTokenRetention), limit));
+        runJob(EXPIRED_LOCKS, limit -> userRepository.clearExpiredLocksBatch(now, limit));
+        runJob(EXPIRED_REVOCATIONS, limit -> revokedAccessTokenRepository.deleteExpiredBatch(now, limit));
+        runJob(EXPIRED_TOMBSTONES, limit -> deletedUserRepository.deleteExpiredBatch(now, limit));
+
+        LocalDateTime checkedAt = LocalDateTime.now();
+        tokenLagSeconds.set(lagSeconds(refreshTokenRepository.findOldestExpiry(checkedAt), checkedAt));
+        lockLagSeconds.set(lagSeconds(userRepository.findOldestExpiredLock(checkedAt), checkedAt));
+    }
+
+    private void runJob(String job, IntUnaryOperator batch) {
+        long start = System.nanoTime();
+        long total = 0;
+        int batches = 0;
+
+        try {
+            int affected;
+            do {
+                affected = batch.applyAsInt(batchSize);
+                total += affected;
+                batches++;
+                if (affected == batchSize && batches < maxBatchesPerRun) {
+                    Thread.sleep(batchPause.toMillis());
+                }
+            } while (affected == batchSize && batches < maxBatchesPerRun);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            meterRegistry.counter("auth.maintenance.failures", "job", job).increment();
+            log.error("Maintenance job '{}' failed after {} rows: {}", job, total, e.getMessage());
+        } finally {
+            Timer.builder("auth.maintenance.duration")
+                    .tag("job", job)
+                    .register(meterRegistry)
+                    .record(Duration.ofNanos(System.nanoTime() - start));
+            Counter.builder("auth.maintenance.rows")
+                    .tag("job", job)
+                    .register(meterRegistry)
+                    .increment(total);
+        }
+
+        if (total > 0) {
+            log.info("Maintenance job '{}': {} rows in {} batch(es)", job, total, batches);
+        }
+    }
+
+    private long lagSeconds(LocalDateTime oldest, LocalDateTime now) {
+        return oldest == null ? 0 : Duration.between(oldest, now).toSeconds();
+    }
+}
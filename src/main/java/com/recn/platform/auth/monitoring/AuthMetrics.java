@@ -0,0 +1,93 @@
+package com.recn.platform.auth.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Phase timers and security counters for the authentication flows.
+ *
+ * Each step of login, register, refresh and the JWT filter is recorded as
+ * {@code auth.phase{operation, phase}}, so a latency spike can be attributed to the user lookup,
+ * password hashing, token signing or the commit. Histograms, percentiles and SLO buckets are not
+ * fixed here; they come from {@code management.metrics.distribution.*}.
+ */
+@Component
+public class AuthMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final Counter lockouts;
+
+    private final Map<String, Timer> phases = new ConcurrentHashMap<>();
+    private final Map<String, Counter> invalidTokens = new ConcurrentHashMap<>();
+
+    public AuthMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.lockouts = Counter.builder("auth.lockouts")
+                .description("Accounts locked after too many failed logins")
+                .register(meterRegistry);
+    }
+
+    // Recorded whether the step returns or throws
+    public <T> T time(String operation, String phase, Supplier<T> step) {
+        return phase(operation, phase).record(step);
+    }
+
+    public void time(String operation, String phase, Runnable step) {
+        phase(operation, phase).record(step);
+    }
+
+    // The commit phase: from beforeCommit to afterCompletion, i.e. the flush of deferred inserts and
+    // updates (refresh token, user row) plus the COMMIT itself
+    public void timeCommit(String operation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Timer timer = phase(operation, "commit");
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long start;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                start = System.nanoTime();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (start != 0) {
+                    timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            }
+        });
+    }
+
+    public void lockout() {
+        lockouts.increment();
+    }
+
+    // type: access or refresh; reason: expired, invalid or revoked
+    public void invalidToken(String type, String reason) {
+        invalidTokens.computeIfAbsent(type + ":" + reason, key -> Counter.builder("auth.tokens.invalid")
+                        .description("Rejected access and refresh tokens")
+                        .tag("type", type)
+                        .tag("reason", reason)
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    private Timer phase(String operation, String phase) {
+        return phases.computeIfAbsent(operation + ":" + phase, key -> Timer.builder("auth.phase")
+                .description("Time spent in one phase of an authentication flow")
+                .tag("operation", operation)
+                .tag("phase", phase)
+                .register(meterRegistry));
+    }
+}
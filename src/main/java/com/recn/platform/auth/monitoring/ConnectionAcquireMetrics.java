@@ -0,0 +1,96 @@
+package com.recn.platform.auth.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Connection acquire time per endpoint ({@code auth.db.connection.acquire{endpoint}}).
+ *
+ * Hikari's own acquire timer is pool-wide; this wraps the pool so a wait can be traced to the route
+ * that paid for it. The endpoint is the matched route pattern of the current request; connections
+ * taken in filters before handler mapping count as "unmapped", those outside a request (scheduled
+ * jobs, startup) as "none".
+ */
+@Component
+public class ConnectionAcquireMetrics implements BeanPostProcessor {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public ConnectionAcquireMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof TimedDataSource)) {
+            return new TimedDataSource(dataSource);
+        }
+        return bean;
+    }
+
+    private void record(long startNanos) {
+        String endpoint = endpoint();
+        timers.computeIfAbsent(endpoint, key -> Timer.builder("auth.db.connection.acquire")
+                        .description("Time to obtain a pooled JDBC connection")
+                        .tag("endpoint", key)
+                        .register(meterRegistry.getObject()))
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static String endpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return "none";
+        }
+        HttpServletRequest request = servletAttributes.getRequest();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? "unmapped" : request.getMethod() + " " + pattern;
+    }
+
+    private class TimedDataSource extends DelegatingDataSource {
+
+        TimedDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        @NonNull
+        public Connection getConnection() throws SQLException {
+            long start = System.nanoTime();
+            try {
+                return super.getConnection();
+            } finally {
+                record(start);
+            }
+        }
+
+        @Override
+        @NonNull
+        public Connection getConnection(@NonNull String username, @NonNull String password) throws SQLException {
+            long start = System.nanoTime();
+            try {
+                return super.getConnection(username, password);
+            } finally {
+                record(start);
+            }
+        }
+    }
+}
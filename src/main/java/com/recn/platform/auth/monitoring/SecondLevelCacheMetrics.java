@@ -0,0 +1,77 @@
+package com.recn.platform.auth.monitoring;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.cache.spi.DomainDataRegion;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Per-region hit ratio of the Hibernate second-level cache (auth.cache.l2.hit.ratio{region}), next to
+ * the raw hit/miss/put counts. Regions are known once the session factory is built, so meters are
+ * registered when the application is ready.
+ */
+@Component
+public class SecondLevelCacheMetrics {
+
+    private final CacheImplementor cache;
+    private final Statistics statistics;
+    private final MeterRegistry meterRegistry;
+
+    public SecondLevelCacheMetrics(EntityManagerFactory entityManagerFactory, MeterRegistry meterRegistry) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.cache = sessionFactory.getCache();
+        this.statistics = sessionFactory.getStatistics();
+        this.meterRegistry = meterRegistry;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void register() {
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            // Query results and update timestamps regions have no domain data statistics (Hibernate
+            // throws for them); the query cache is covered by the gauge below
+            if (!(cache.getRegion(region) instanceof DomainDataRegion)) {
+                continue;
+            }
+            CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+
+            Gauge.builder("auth.cache.l2.hit.ratio", regionStatistics, SecondLevelCacheMetrics::hitRatio)
+                    .description("Second-level cache hits / (hits + misses) since startup")
+                    .tag("region", region)
+                    .register(meterRegistry);
+            counter("hits", region, regionStatistics, CacheRegionStatistics::getHitCount);
+            counter("misses", region, regionStatistics, CacheRegionStatistics::getMissCount);
+            counter("puts", region, regionStatistics, CacheRegionStatistics::getPutCount);
+        }
+        Gauge.builder("auth.cache.l2.hit.ratio", statistics, stats -> ratio(
+                        stats.getQueryCacheHitCount(), stats.getQueryCacheMissCount()))
+                .description("Second-level cache hits / (hits + misses) since startup")
+                .tag("region", "query-results")
+                .register(meterRegistry);
+    }
+
+    private void counter(String name, String region, CacheRegionStatistics regionStatistics,
+                         ToDoubleFunction<CacheRegionStatistics> count) {
+        FunctionCounter.builder("auth.cache.l2." + name, regionStatistics, count)
+                .tag("region", region)
+                .register(meterRegistry);
+    }
+
+    private static double hitRatio(CacheRegionStatistics regionStatistics) {
+        return ratio(regionStatistics.getHitCount(), regionStatistics.getMissCount());
+    }
+
+    private static double ratio(long hits, long misses) {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+}
@@ -0,0 +1,69 @@
+package com.recn.platform.auth.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the number of SQL statements each handler issued and flags requests that exceed the
+ * handler's {@link SqlBudget}. A new N+1 or a lost fetch plan shows up as
+ * {@code auth.sql.budget.exceeded} instead of as a slow endpoint weeks later.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SqlBudgetInterceptor implements HandlerInterceptor {
+
+    private final SqlStatementCounter sqlStatementCounter;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, DistributionSummary> statements = new ConcurrentHashMap<>();
+    private final Map<String, Counter> exceeded = new ConcurrentHashMap<>();
+
+    @Value("${app.sql-budget.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        sqlStatementCounter.reset();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                @NonNull Object handler, Exception ex) {
+        if (!enabled || !(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+
+        int count = sqlStatementCounter.current();
+        String name = handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        statements.computeIfAbsent(name, key -> DistributionSummary.builder("auth.sql.statements")
+                        .description("SQL statements issued per request")
+                        .tag("handler", key)
+                        .register(meterRegistry))
+                .record(count);
+
+        SqlBudget budget = handlerMethod.getMethodAnnotation(SqlBudget.class);
+        if (budget != null && count > budget.value()) {
+            exceeded.computeIfAbsent(name, key -> Counter.builder("auth.sql.budget.exceeded")
+                            .tag("handler", key)
+                            .register(meterRegistry))
+                    .increment();
+            log.warn("{} issued {} SQL statements, budget is {}", name, count, budget.value());
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.recn.platform.auth.repository;
 
 import com.recn.platform.auth.entity.Campus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -9,6 +12,8 @@ import java.util.Optional;
 @Repository
 public interface CampusRepository extends JpaRepository<Campus, String> {
 
+    // Query cache holds the campus ID per user; the entity itself comes from the campuses region
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<Campus> findByUserId(String userId);
 
     boolean existsByUserId(String userId);
@@ -1,7 +1,11 @@
 package com.recn.platform.auth.repository;
 
 import com.recn.platform.auth.entity.Company;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -9,8 +13,15 @@ import java.util.Optional;
 @Repository
 public interface CompanyRepository extends JpaRepository<Company, String> {
 
+    // Query cache holds the company ID per user; the company and its key people come from their
+    // cache regions. No fetch graph: a join fetch would bypass the collection cache
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Optional<Company> findByUserId(String userId);
 
+    // Updates work on fresh rows; fetch key people in the same select
+    @EntityGraph(attributePaths = "keyPeople")
+    Optional<Company> findWithKeyPeopleByCompanyId(String companyId);
+
     boolean existsByUserId(String userId);
 }
 
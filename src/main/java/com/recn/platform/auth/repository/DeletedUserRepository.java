@@ -0,0 +1,40 @@
+package com.recn.platform.auth.repository;
+
+import com.recn.platform.auth.entity.DeletedUser;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DeletedUserRepository extends JpaRepository<DeletedUser, String> {
+
+    // Plain insert (no merge-select); deleting the same user twice is a no-op
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "deleted_users"))
+    @Query(value = "INSERT IGNORE INTO deleted_users (user_id, deleted_at, expires_at) "
+            + "VALUES (UUID_TO_BIN(:userId), :deletedAt, :expiresAt)",
+            nativeQuery = true)
+    int insertIgnore(@Param("userId") String userId,
+                     @Param("deletedAt") LocalDateTime deletedAt,
+                     @Param("expiresAt") LocalDateTime expiresAt);
+
+    List<DeletedUser> findByExpiresAtAfter(LocalDateTime now);
+
+    List<DeletedUser> findByDeletedAtAfterAndExpiresAtAfter(LocalDateTime deletedAfter, LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "deleted_users"))
+    @Query(value = "DELETE FROM deleted_users WHERE expires_at < :now LIMIT :limit",
+            nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
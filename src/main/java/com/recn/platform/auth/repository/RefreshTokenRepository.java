@@ -2,11 +2,16 @@ package com.recn.platform.auth.repository;
 
 import com.recn.platform.auth.entity.RefreshToken;
 import com.recn.platform.auth.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -15,7 +20,19 @@ import java.util.Optional;
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
 
-    Optional<RefreshToken> findByToken(String token);
+    // Token refresh reads the user and its roles; fetch them with the token
+    @EntityGraph(attributePaths = {"user", "user.roles"})
+    Optional<RefreshToken> findByTokenHash(byte[] tokenHash);
+
+    // Native writes name the table they touch (HINT_NATIVE_SPACES); without it Hibernate treats them as
+    // touching every entity and clears all second-level cache regions and the query cache
+    // Rotation claims a token by revoking it; 0 rows means unknown, expired, revoked or lost a concurrent refresh
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "refresh_tokens"))
+    @Query(value = "UPDATE refresh_tokens SET is_revoked = TRUE "
+            + "WHERE token_hash = :tokenHash AND is_revoked = FALSE AND expires_at > :now",
+            nativeQuery = true)
+    int revokeIfValid(@Param("tokenHash") byte[] tokenHash, @Param("now") LocalDateTime now);
 
     List<RefreshToken> findByUser(User user);
 
@@ -33,5 +50,24 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Stri
     @Modifying
     @Query("DELETE FROM RefreshToken rt WHERE rt.user.userId = :userId")
     int deleteAllUserTokens(@Param("userId") String userId);
+
+    // Maintenance batches: each call is its own short transaction, so InnoDB locks are held briefly
+
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "refresh_tokens"))
+    @Transactional
+    @Query(value = "DELETE FROM refresh_tokens WHERE expires_at < :now ORDER BY expires_at LIMIT :limit",
+            nativeQuery = true)
+    int deleteExpiredTokensBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "refresh_tokens"))
+    @Transactional
+    @Query(value = "DELETE FROM refresh_tokens WHERE is_revoked = TRUE AND created_at < :before LIMIT :limit",
+            nativeQuery = true)
+    int deleteRevokedTokensBatch(@Param("before") LocalDateTime before, @Param("limit") int limit);
+
+    @Query("SELECT MIN(rt.expiresAt) FROM RefreshToken rt WHERE rt.expiresAt < :now")
+    LocalDateTime findOldestExpiry(@Param("now") LocalDateTime now);
 }
 
@@ -0,0 +1,41 @@
+package com.recn.platform.auth.repository;
+
+import com.recn.platform.auth.entity.RevokedAccessToken;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedAccessTokenRepository extends JpaRepository<RevokedAccessToken, String> {
+
+    // Plain insert (no merge-select); revoking the same token twice is a no-op
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "revoked_access_tokens"))
+    @Transactional
+    @Query(value = "INSERT IGNORE INTO revoked_access_tokens (jti, expires_at, revoked_at) "
+            + "VALUES (UUID_TO_BIN(:jti), :expiresAt, :revokedAt)",
+            nativeQuery = true)
+    int insertIgnore(@Param("jti") String jti,
+                     @Param("expiresAt") LocalDateTime expiresAt,
+                     @Param("revokedAt") LocalDateTime revokedAt);
+
+    List<RevokedAccessToken> findByExpiresAtAfter(LocalDateTime now);
+
+    List<RevokedAccessToken> findByRevokedAtAfterAndExpiresAtAfter(LocalDateTime revokedAfter, LocalDateTime now);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "revoked_access_tokens"))
+    @Transactional
+    @Query(value = "DELETE FROM revoked_access_tokens WHERE expires_at < :now LIMIT :limit",
+            nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
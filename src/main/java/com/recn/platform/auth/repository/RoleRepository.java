@@ -19,5 +19,20 @@ public interface RoleRepository extends JpaRepository<Role, Integer> {
 
     @Query("SELECT r FROM Role r LEFT JOIN FETCH r.permissions WHERE r.roleName = :roleName")
     Optional<Role> findByRoleNameWithPermissions(String roleName);
+
+    // Flat (roleId, roleName, permissionName) rows; permissionName is null for roles without permissions
+    @Query("SELECT r.roleId, r.roleName, p.permissionName FROM Role r LEFT JOIN r.permissions p")
+    List<Object[]> findRolePermissionRows();
+
+    // Cheap fingerprint of roles, permissions and role_permissions used to detect RBAC changes
+    @Query(value = "SELECT CONCAT_WS(':', " +
+            "(SELECT COUNT(*) FROM roles), " +
+            "(SELECT COALESCE(SUM(CRC32(CONCAT_WS('|', role_id, role_name))), 0) FROM roles), " +
+            "(SELECT COUNT(*) FROM permissions), " +
+            "(SELECT COALESCE(SUM(CRC32(CONCAT_WS('|', permission_id, permission_name))), 0) FROM permissions), " +
+            "(SELECT COUNT(*) FROM role_permissions), " +
+            "(SELECT COALESCE(SUM(CRC32(CONCAT_WS('|', role_id, permission_id))), 0) FROM role_permissions))",
+            nativeQuery = true)
+    String findRbacFingerprint();
 }
 
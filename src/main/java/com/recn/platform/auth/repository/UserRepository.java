@@ -2,20 +2,50 @@ package com.recn.platform.auth.repository;
 
 import com.recn.platform.auth.entity.User;
 import com.recn.platform.auth.enums.UserType;
+import com.recn.platform.auth.repository.projection.UserRow;
+import com.recn.platform.auth.repository.projection.UserView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, String> {
 
+    // User columns plus aggregated role names; GROUP BY the primary key is enough for MySQL
+    String USER_VIEW_QUERY = "SELECT new com.recn.platform.auth.repository.projection.UserView(" +
+            "u.userId, u.email, u.userType, u.isVerified, u.isActive, u.lastLogin, " +
+            "u.failedLoginAttempts, u.accountLockedUntil, u.createdAt, u.updatedAt, " +
+            "listagg(r.roleName, ',')) " +
+            "FROM User u LEFT JOIN u.roles r ";
+
+    @Query(USER_VIEW_QUERY + "WHERE u.userId = :userId GROUP BY u.userId")
+    Optional<UserView> findViewById(@Param("userId") String userId);
+
+    @Query(USER_VIEW_QUERY + "WHERE u.email = :email GROUP BY u.userId")
+    Optional<UserView> findViewByEmail(@Param("email") String email);
+
     Optional<User> findByEmail(String email);
 
+    // [userId, tokenEpoch] pairs for the in-memory epoch table
+    @Query("SELECT u.userId, u.tokenEpoch FROM User u WHERE u.tokenEpoch > 0")
+    List<Object[]> findBumpedTokenEpochs();
+
+    @Query("SELECT u.userId, u.tokenEpoch FROM User u WHERE u.tokenEpochChangedAt > :since")
+    List<Object[]> findTokenEpochsChangedAfter(@Param("since") LocalDateTime since);
+
     boolean existsByEmail(String email);
 
     List<User> findByUserType(UserType userType);
@@ -28,10 +58,46 @@ public interface UserRepository extends JpaRepository<User, String> {
     @Query("SELECT u FROM User u WHERE u.accountLockedUntil IS NOT NULL AND u.accountLockedUntil < :now")
     List<User> findExpiredLockedAccounts(@Param("now") LocalDateTime now);
 
+    // Maintenance batch: clears lapsed locks and the attempt counter that triggered them
+    @Modifying
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "users"))
+    @Transactional
+    @Query(value = "UPDATE users SET account_locked_until = NULL, failed_login_attempts = 0 " +
+            "WHERE account_locked_until < :now LIMIT :limit", nativeQuery = true)
+    int clearExpiredLocksBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Query("SELECT MIN(u.accountLockedUntil) FROM User u WHERE u.accountLockedUntil < :now")
+    LocalDateTime findOldestExpiredLock(@Param("now") LocalDateTime now);
+
     @Query("SELECT COUNT(u) FROM User u WHERE u.userType = :userType AND u.isActive = true")
     Long countActiveUsersByType(@Param("userType") UserType userType);
 
-    @Query("SELECT u FROM User u LEFT JOIN FETCH u.roles r LEFT JOIN FETCH r.permissions WHERE u.email = :email")
-    Optional<User> findByEmailWithRolesAndPermissions(@Param("email") String email);
+    // One keyset page ordered by (createdAt, userId); a null filter or cursor disables that predicate
+    @Query("SELECT new com.recn.platform.auth.repository.projection.UserRow(" +
+            "u.userId, u.email, u.userType, u.isVerified, u.isActive, u.lastLogin, " +
+            "u.failedLoginAttempts, u.accountLockedUntil, u.createdAt, u.updatedAt) " +
+            "FROM User u " +
+            "WHERE (:userType IS NULL OR u.userType = :userType) " +
+            "AND (:isActive IS NULL OR u.isActive = :isActive) " +
+            "AND (:isVerified IS NULL OR u.isVerified = :isVerified) " +
+            "AND (:afterCreatedAt IS NULL OR u.createdAt > :afterCreatedAt " +
+            "     OR (u.createdAt = :afterCreatedAt AND u.userId > :afterUserId)) " +
+            "ORDER BY u.createdAt, u.userId")
+    List<UserRow> findPage(
+            @Param("userType") UserType userType,
+            @Param("isActive") Boolean isActive,
+            @Param("isVerified") Boolean isVerified,
+            @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+            @Param("afterUserId") String afterUserId,
+            Limit limit
+    );
+
+    // (userId, roleName) pairs for a page of users
+    @Query("SELECT u.userId, r.roleName FROM User u JOIN u.roles r WHERE u.userId IN :userIds")
+    List<Object[]> findRoleNamesByUserIds(@Param("userIds") Collection<String> userIds);
+
+    // Login and authentication: the user and its roles in one select
+    @EntityGraph(User.WITH_ROLES)
+    Optional<User> findWithRolesByEmail(String email);
 }
 
@@ -0,0 +1,20 @@
+package com.recn.platform.auth.repository.projection;
+
+import com.recn.platform.auth.enums.UserType;
+
+import java.time.LocalDateTime;
+
+// Scalar columns of a user for listings; roles are fetched separately, once per page
+public record UserRow(
+        String userId,
+        String email,
+        UserType userType,
+        Boolean isVerified,
+        Boolean isActive,
+        LocalDateTime lastLogin,
+        Integer failedLoginAttempts,
+        LocalDateTime accountLockedUntil,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+}
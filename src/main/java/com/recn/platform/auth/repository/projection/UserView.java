@@ -0,0 +1,26 @@
+package com.recn.platform.auth.repository.projection;
+
+import com.recn.platform.auth.enums.UserType;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+// A single user with its role names aggregated into one comma-separated column
+public record UserView(
+        String userId,
+        String email,
+        UserType userType,
+        Boolean isVerified,
+        Boolean isActive,
+        LocalDateTime lastLogin,
+        Integer failedLoginAttempts,
+        LocalDateTime accountLockedUntil,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        String roleNames
+) {
+
+    public Set<String> roles() {
+        return roleNames == null || roleNames.isEmpty() ? Set.of() : Set.of(roleNames.split(","));
+    }
+}
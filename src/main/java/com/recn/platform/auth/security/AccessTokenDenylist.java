@@ -0,0 +1,152 @@
+package com.recn.platform.auth.security;
+
+import com.recn.platform.auth.entity.RevokedAccessToken;
+import com.recn.platform.auth.repository.RevokedAccessTokenRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Access tokens revoked before their {@code exp}, keyed by jti.
+ *
+ * Lookups are a single hash probe with no allocation. Entries are filed into a timing wheel with one
+ * slot per second of the access-token lifetime and dropped when the wheel passes their {@code exp},
+ * so memory is bounded by the revocations of one token lifetime. The revoked_access_tokens table is
+ * the durable copy: it is loaded on startup and polled so revocations made on other nodes arrive too.
+ */
+@Component
+@Slf4j
+public class AccessTokenDenylist {
+
+    private final RevokedAccessTokenRepository repository;
+
+    // jti -> exp in epoch seconds
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private final List<Queue<String>> wheel;
+    private volatile long lastTickSecond = epochSecond();
+    private volatile LocalDateTime syncedAt = LocalDateTime.now();
+
+    @Value("${app.security.access-token-denylist.sync-interval:PT5S}")
+    private Duration syncInterval;
+
+    public AccessTokenDenylist(
+            RevokedAccessTokenRepository repository,
+            @Value("${jwt.access-token-expiration}") long accessTokenExpiration,
+            MeterRegistry meterRegistry
+    ) {
+        this.repository = repository;
+
+        // One slot per second of token lifetime, plus slack for clock skew and the current second
+        int slots = (int) Duration.ofMillis(accessTokenExpiration).toSeconds() + 2;
+        this.wheel = new ArrayList<>(slots);
+        for (int i = 0; i < slots; i++) {
+            wheel.add(new ConcurrentLinkedQueue<>());
+        }
+
+        Gauge.builder("auth.access-token.denylist.size", revoked, Map::size)
+                .description("Revoked access tokens not yet expired")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void load() {
+        LocalDateTime now = LocalDateTime.now();
+        List<RevokedAccessToken> rows = repository.findByExpiresAtAfter(now);
+        rows.forEach(this::add);
+        syncedAt = now;
+        log.info("Access token denylist loaded: {} revoked token(s)", rows.size());
+    }
+
+    // Revoke one access token until its expiry; tokens without a jti predate the denylist
+    public void revoke(String jti, Date expiration) {
+        if (jti == null || expiration == null || !expiration.after(new Date())) {
+            return;
+        }
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(expiration.toInstant(), ZoneId.systemDefault());
+        repository.insertIgnore(jti, expiresAt, LocalDateTime.now());
+        add(jti, expiration.getTime() / 1000);
+        log.debug("Revoked access token {} until {}", jti, expiresAt);
+    }
+
+    public boolean isRevoked(String jti) {
+        return jti != null && revoked.containsKey(jti);
+    }
+
+    // Advance the wheel, dropping every entry whose exp has passed
+    @Scheduled(fixedRate = 1000)
+    public void tick() {
+        long now = epochSecond();
+        long from = Math.max(lastTickSecond + 1, now - wheel.size() + 1);
+        for (long second = from; second <= now; second++) {
+            Queue<String> slot = wheel.get(slotOf(second));
+            for (int pending = slot.size(); pending > 0; pending--) {
+                String jti = slot.poll();
+                if (jti == null) {
+                    break;
+                }
+                Long exp = revoked.get(jti);
+                if (exp != null && exp <= now) {
+                    revoked.remove(jti, exp);
+                } else if (exp != null) {
+                    file(jti, exp, now); // beyond the horizon when filed, or re-revoked later
+                }
+            }
+        }
+        lastTickSecond = now;
+    }
+
+    // Pick up revocations written by other nodes; one interval of overlap covers clock skew
+    @Scheduled(
+            fixedDelayString = "${app.security.access-token-denylist.sync-interval:PT5S}",
+            initialDelayString = "${app.security.access-token-denylist.sync-interval:PT5S}"
+    )
+    public void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        repository.findByRevokedAtAfterAndExpiresAtAfter(syncedAt.minus(syncInterval), now).forEach(this::add);
+        syncedAt = now;
+    }
+
+    private void add(RevokedAccessToken row) {
+        add(row.getJti(), row.getExpiresAt().atZone(ZoneId.systemDefault()).toEpochSecond());
+    }
+
+    private void add(String jti, long exp) {
+        long now = epochSecond();
+        if (exp <= now) {
+            return;
+        }
+        if (revoked.put(jti, exp) == null) {
+            file(jti, exp, now);
+        }
+    }
+
+    // Entries past the wheel's horizon go into its last slot and are re-filed when it comes round
+    private void file(String jti, long exp, long now) {
+        long second = Math.min(exp, now + wheel.size() - 1);
+        wheel.get(slotOf(second)).add(jti);
+    }
+
+    private int slotOf(long second) {
+        return (int) (second % wheel.size());
+    }
+
+    private static long epochSecond() {
+        return Instant.now().getEpochSecond();
+    }
+}
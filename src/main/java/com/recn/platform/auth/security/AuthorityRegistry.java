@@ -0,0 +1,123 @@
+package com.recn.platform.auth.security;
+
+import com.recn.platform.auth.entity.Role;
+import com.recn.platform.auth.entity.User;
+import com.recn.platform.auth.service.RbacReloadedEvent;
+import com.recn.platform.auth.service.RbacService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns one {@link AuthoritySet} per distinct role combination.
+ *
+ * Principals built from a User are keyed by their sorted role IDs; principals built from token
+ * claims are keyed by the claim list itself. Permissions always come from the current
+ * {@link RbacSnapshot}, and both maps are dropped whenever a new snapshot is loaded.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuthorityRegistry {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final RbacService rbacService;
+
+    private final Map<String, GrantedAuthority> interned = new ConcurrentHashMap<>();
+    private final Map<String, AuthoritySet> byRoleIds = new ConcurrentHashMap<>();
+    private final Map<List<String>, AuthoritySet> byClaims = new ConcurrentHashMap<>();
+
+    // Authorities for a loaded user; only role IDs are read, so role proxies stay uninitialized
+    public AuthoritySet forUser(User user) {
+        TreeSet<Integer> roleIds = new TreeSet<>();
+        for (Role role : user.getRoles()) {
+            roleIds.add(role.getRoleId());
+        }
+        return forRoleIds(roleIds);
+    }
+
+    // Authorities for role IDs given in ascending order, e.g. from a cached user snapshot
+    public AuthoritySet forRoleIds(Collection<Integer> roleIds) {
+        return byRoleIds.computeIfAbsent(roleIds.toString(), key -> fromRoleIds(roleIds));
+    }
+
+    // Authorities for the roles claim of a verified access token
+    public AuthoritySet forClaims(List<String> authorityNames) {
+        AuthoritySet authoritySet = byClaims.get(authorityNames);
+        if (authoritySet == null) {
+            authoritySet = byClaims.computeIfAbsent(List.copyOf(authorityNames), this::fromClaimNames);
+        }
+        return authoritySet;
+    }
+
+    // Drop every cached combination; the next lookup rebuilds it from the new snapshot
+    @EventListener(RbacReloadedEvent.class)
+    public void clear() {
+        byRoleIds.clear();
+        byClaims.clear();
+        log.debug("Authority registry cleared");
+    }
+
+    private AuthoritySet fromRoleIds(Collection<Integer> roleIds) {
+        RbacSnapshot snapshot = rbacService.getSnapshot();
+        List<String> authorityNames = new ArrayList<>();
+        for (Integer roleId : roleIds) {
+            String roleName = snapshot.roleName(roleId);
+            if (roleName != null) {
+                authorityNames.add(ROLE_PREFIX + roleName);
+            }
+        }
+        authorityNames.addAll(snapshot.permissionNames(snapshot.permissionsOf(roleIds)));
+        return fromAuthorityNames(authorityNames);
+    }
+
+    // Roles come from the token, permissions from the current snapshot
+    private AuthoritySet fromClaimNames(List<String> claimNames) {
+        RbacSnapshot snapshot = rbacService.getSnapshot();
+        List<String> authorityNames = new ArrayList<>();
+        List<Integer> roleIds = new ArrayList<>();
+        for (String name : claimNames) {
+            if (name.startsWith(ROLE_PREFIX)) {
+                authorityNames.add(name);
+                Integer roleId = snapshot.roleId(name.substring(ROLE_PREFIX.length()));
+                if (roleId != null) {
+                    roleIds.add(roleId);
+                }
+            }
+        }
+        authorityNames.addAll(snapshot.permissionNames(snapshot.permissionsOf(roleIds)));
+        return fromAuthorityNames(authorityNames);
+    }
+
+    private AuthoritySet fromAuthorityNames(Collection<String> names) {
+        // Sorted and de-duplicated so equal combinations always produce the same claim list
+        TreeSet<String> sorted = new TreeSet<>(names);
+        Set<GrantedAuthority> authorities = new HashSet<>();
+        Set<String> roleNames = new HashSet<>();
+        Set<String> permissionNames = new HashSet<>();
+
+        for (String name : sorted) {
+            authorities.add(interned.computeIfAbsent(name, SimpleGrantedAuthority::new));
+            if (name.startsWith(ROLE_PREFIX)) {
+                roleNames.add(name.substring(ROLE_PREFIX.length()));
+            } else {
+                permissionNames.add(name);
+            }
+        }
+
+        return new AuthoritySet(authorities, new ArrayList<>(sorted), roleNames, permissionNames);
+    }
+}
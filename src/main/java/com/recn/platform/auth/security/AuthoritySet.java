@@ -0,0 +1,30 @@
+package com.recn.platform.auth.security;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable authorities for one distinct role combination, shared by every principal that has it.
+ * Instances are created and interned by {@link AuthorityRegistry}.
+ */
+@Getter
+public final class AuthoritySet {
+
+    private final Set<GrantedAuthority> authorities;
+    private final List<String> authorityNames;
+    private final Set<String> roleNames;
+    private final Set<String> permissionNames;
+
+    AuthoritySet(Set<GrantedAuthority> authorities,
+                 List<String> authorityNames,
+                 Set<String> roleNames,
+                 Set<String> permissionNames) {
+        this.authorities = Set.copyOf(authorities);
+        this.authorityNames = List.copyOf(authorityNames);
+        this.roleNames = Set.copyOf(roleNames);
+        this.permissionNames = Set.copyOf(permissionNames);
+    }
+}
@@ -0,0 +1,126 @@
+package com.recn.platform.auth.security;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Request whose body, or only its head when the body is larger than a filter cares to buffer, has
+ * already been read into memory, so a filter can inspect it and the controller can still bind it.
+ * An incomplete head is replayed followed by the unread rest of the original stream.
+ */
+class CachedBodyHttpServletRequest extends HttpServletRequestWrapper {
+
+    private final byte[] body;
+    private final boolean complete;
+
+    CachedBodyHttpServletRequest(HttpServletRequest request, byte[] body, boolean complete) {
+        super(request);
+        this.body = body;
+        this.complete = complete;
+    }
+
+    byte[] getBody() {
+        return body;
+    }
+
+    boolean isComplete() {
+        return complete;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        ByteArrayInputStream in = new ByteArrayInputStream(body);
+        ServletInputStream rest = complete ? null : super.getInputStream();
+        return new ServletInputStream() {
+            @Override
+            public int read() throws IOException {
+                int b = in.read();
+                return b >= 0 || rest == null ? b : rest.read();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                if (len == 0) {
+                    return 0;
+                }
+                int n = in.read(b, off, len);
+                return n > 0 || rest == null ? n : rest.read(b, off, len);
+            }
+
+            @Override
+            public boolean isFinished() {
+                return in.available() == 0 && (rest == null || rest.isFinished());
+            }
+
+            @Override
+            public boolean isReady() {
+                return in.available() > 0 || rest == null || rest.isReady();
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                if (rest != null) {
+                    // The container signals the rest; the listener reads the head first through read()
+                    rest.setReadListener(new ReadListener() {
+                        @Override
+                        public void onDataAvailable() throws IOException {
+                            readListener.onDataAvailable();
+                        }
+
+                        @Override
+                        public void onAllDataRead() throws IOException {
+                            if (in.available() > 0) {
+                                readListener.onDataAvailable(); // the rest was empty, the head is still unread
+                            }
+                            readListener.onAllDataRead();
+                        }
+
+                        @Override
+                        public void onError(Throwable t) {
+                            readListener.onError(t);
+                        }
+                    });
+                    return;
+                }
+                // Fully buffered: everything is available now, so signal it straight away
+                try {
+                    if (!isFinished()) {
+                        readListener.onDataAvailable();
+                    }
+                    if (isFinished()) {
+                        readListener.onAllDataRead();
+                    }
+                } catch (IOException e) {
+                    readListener.onError(e);
+                }
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        Charset charset = getCharacterEncoding() != null
+                ? Charset.forName(getCharacterEncoding())
+                : StandardCharsets.UTF_8;
+        return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+    }
+
+    @Override
+    public int getContentLength() {
+        return complete ? body.length : super.getContentLength();
+    }
+
+    @Override
+    public long getContentLengthLong() {
+        return complete ? body.length : super.getContentLengthLong();
+    }
+}
@@ -0,0 +1,15 @@
+package com.recn.platform.auth.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+public final class ClientIp {
+
+    private ClientIp() {
+    }
+
+    // The valve (server.tomcat.remoteip) has already replaced the socket address with the right-most
+    // untrusted X-Forwarded-For hop; reading the header here would let any client choose its IP
+    public static String resolve(HttpServletRequest request) {
+        return request.getRemoteAddr();
+    }
+}
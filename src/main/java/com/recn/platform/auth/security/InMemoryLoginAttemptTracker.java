@@ -0,0 +1,118 @@
+package com.recn.platform.auth.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sliding-window failure counters held in a size-bounded Caffeine cache.
+ *
+ * Each key's window is split into fixed buckets; a count is the sum of buckets younger than the
+ * window. Updates to a window are guarded by one of a fixed set of lock stripes, so unrelated keys
+ * rarely contend. Idle keys expire once their whole window has passed.
+ */
+@Component
+public class InMemoryLoginAttemptTracker implements LoginAttemptTracker {
+
+    private static final int BUCKETS = 10;
+
+    private final Cache<String, SlidingWindow> windows;
+    private final ReentrantLock[] stripes;
+    private final long bucketMillis;
+
+    public InMemoryLoginAttemptTracker(
+            @Value("${app.security.login-attempts.window:PT15M}") Duration window,
+            @Value("${app.security.login-attempts.maximum-keys:100000}") long maximumKeys,
+            @Value("${app.security.login-attempts.lock-stripes:64}") int lockStripes,
+            MeterRegistry meterRegistry
+    ) {
+        this.bucketMillis = Math.max(1, window.toMillis() / BUCKETS);
+        this.windows = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(window)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, windows, "login.attempts");
+
+        // Power of two so the stripe index is a mask
+        int stripeCount = Integer.highestOneBit(Math.max(1, lockStripes - 1)) << 1;
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public int recordFailure(String key) {
+        SlidingWindow window = windows.get(key, k -> new SlidingWindow());
+        ReentrantLock lock = stripeFor(key);
+        lock.lock();
+        try {
+            return window.add(currentBucket());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int failures(String key) {
+        SlidingWindow window = windows.getIfPresent(key);
+        if (window == null) {
+            return 0;
+        }
+        ReentrantLock lock = stripeFor(key);
+        lock.lock();
+        try {
+            return window.sum(currentBucket());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void reset(String key) {
+        windows.invalidate(key);
+    }
+
+    private long currentBucket() {
+        return System.currentTimeMillis() / bucketMillis;
+    }
+
+    private ReentrantLock stripeFor(String key) {
+        int h = key.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (stripes.length - 1)];
+    }
+
+    // Ring of per-bucket counts; a slot is reused once its bucket falls out of the window
+    private static final class SlidingWindow {
+
+        private final long[] bucketIds = new long[BUCKETS];
+        private final int[] counts = new int[BUCKETS];
+
+        int add(long bucket) {
+            int slot = (int) (bucket % BUCKETS);
+            if (bucketIds[slot] != bucket) {
+                bucketIds[slot] = bucket;
+                counts[slot] = 0;
+            }
+            counts[slot]++;
+            return sum(bucket);
+        }
+
+        int sum(long bucket) {
+            int total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                if (bucket - bucketIds[i] < BUCKETS) {
+                    total += counts[i];
+                }
+            }
+            return total;
+        }
+    }
+}
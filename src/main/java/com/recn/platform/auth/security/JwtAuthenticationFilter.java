@@ -1,11 +1,15 @@
 package com.recn.platform.auth.security;
 
+import com.recn.platform.auth.monitoring.AuthMetrics;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -24,6 +28,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final TokenEpochRegistry tokenEpochRegistry;
+    private final AccessTokenDenylist accessTokenDenylist;
+    private final AuthorityRegistry authorityRegistry;
+    private final AuthMetrics authMetrics;
+
+    @Value("${app.security.stateless-authentication:true}")
+    private boolean statelessAuthentication;
 
     @Override
     protected void doFilterInternal(
@@ -31,7 +42,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
-        
+
         try {
             final String authHeader = request.getHeader("Authorization");
 
@@ -41,22 +52,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             }
 
             final String jwt = authHeader.substring(7);
-            final String username = jwtUtil.extractUsername(jwt);
 
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails userDetails = statelessAuthentication
+                        ? loadFromClaims(jwt)
+                        : loadFromDatabase(jwt);
 
-                if (jwtUtil.validateToken(jwt, userDetails)) {
+                if (userDetails != null) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
                             userDetails.getAuthorities()
                     );
-                    
+
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
-                    
-                    log.debug("User '{}' authenticated successfully", username);
+
+                    log.debug("User '{}' authenticated successfully", userDetails.getUsername());
                 }
             }
         } catch (Exception e) {
@@ -65,5 +77,62 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
-}
 
+    // Build the principal from verified claims only; no database round trip
+    private UserDetails loadFromClaims(String jwt) {
+        VerifiedToken token = verify(jwt);
+
+        if (token.getSubject() == null || token.getUserId() == null) {
+            return null;
+        }
+
+        if (isRevoked(token)) {
+            log.debug("Rejected revoked token for user: {}", token.getUserId());
+            return null;
+        }
+
+        // The "user load" of this mode: authorities resolved from the claims
+        return authMetrics.time("filter", "user-load", () -> UserPrincipal.fromClaims(
+                token.getSubject(),
+                token.getUserId(),
+                token.getUserType(),
+                authorityRegistry.forClaims(token.getAuthorities())
+        ));
+    }
+
+    // Legacy mode: reload the user and its role graph on every request
+    private UserDetails loadFromDatabase(String jwt) {
+        VerifiedToken token = verify(jwt);
+        final String username = token.getSubject();
+        if (username == null || isRevoked(token)) {
+            return null;
+        }
+
+        UserDetails userDetails = authMetrics.time("filter", "user-load",
+                () -> userDetailsService.loadUserByUsername(username));
+        return jwtUtil.validateToken(jwt, userDetails) ? userDetails : null;
+    }
+
+    // Signature and claim checks, served from the verified-token cache when seen before
+    private VerifiedToken verify(String jwt) {
+        try {
+            return authMetrics.time("filter", "parse", () -> jwtUtil.verify(jwt));
+        } catch (ExpiredJwtException e) {
+            authMetrics.invalidToken("access", "expired");
+            throw e;
+        } catch (JwtException | IllegalArgumentException e) {
+            authMetrics.invalidToken("access", "invalid");
+            throw e;
+        }
+    }
+
+    // Revoked on its own (logout) or together with all of the user's tokens (epoch bump)
+    private boolean isRevoked(VerifiedToken token) {
+        boolean revoked = accessTokenDenylist.isRevoked(token.getJti())
+                || (token.getUserId() != null && tokenEpochRegistry.isStale(token.getUserId(), token.getTokenEpoch()));
+        if (revoked) {
+            authMetrics.invalidToken("access", "revoked");
+        }
+        return revoked;
+    }
+}
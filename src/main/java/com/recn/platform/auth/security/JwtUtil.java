@@ -1,17 +1,18 @@
 package com.recn.platform.auth.security;
 
+import com.recn.platform.auth.entity.id.Uuids;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -19,11 +20,12 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final SigningKeyRing signingKeyRing;
 
     @Value("${jwt.access-token-expiration}")
     private Long accessTokenExpiration;
@@ -34,86 +36,99 @@ public class JwtUtil {
     @Value("${jwt.issuer}")
     private String issuer;
 
-    private SecretKey key;
+    private JwtParser parser;
 
     @PostConstruct
     public void init() {
-        this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        // Keys are resolved per token: by kid from the key ring, or the legacy HMAC secret
+        this.parser = Jwts.parser()
+                .keyLocator(signingKeyRing)
+                .build();
     }
 
     // Generate Access Token
-    public String generateAccessToken(UserDetails userDetails, String userId, String userType) {
+    public String generateAccessToken(UserDetails userDetails, String userId, String userType, int tokenEpoch) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", userId);
         claims.put("userType", userType);
-        claims.put("roles", userDetails.getAuthorities().stream()
-                .map(GrantedAuthority::getAuthority)
-                .collect(Collectors.toList()));
+        claims.put("epoch", tokenEpoch);
+        claims.put("roles", userDetails instanceof UserPrincipal userPrincipal
+                ? userPrincipal.getAuthorityNames()
+                : userDetails.getAuthorities().stream()
+                        .map(GrantedAuthority::getAuthority)
+                        .collect(Collectors.toList()));
         
         return createToken(claims, userDetails.getUsername(), accessTokenExpiration);
     }
 
-    // Generate Refresh Token
-    public String generateRefreshToken(String username) {
-        Map<String, Object> claims = new HashMap<>();
-        claims.put("tokenType", "refresh");
-        return createToken(claims, username, refreshTokenExpiration);
-    }
-
     // Create Token
     private String createToken(Map<String, Object> claims, String subject, Long expiration) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .claims(claims)
+                .id(Uuids.v7().toString()) // jti, the key for revoking this one token
                 .subject(subject)
                 .issuer(issuer)
                 .issuedAt(now)
-                .expiration(expiryDate)
-                .signWith(key)
+                .expiration(expiryDate);
+
+        if (signingKeyRing.isHmac()) {
+            return builder.signWith(signingKeyRing.getHmacKey()).compact();
+        }
+
+        SigningKeyRing.ActiveKey signingKey = signingKeyRing.currentSigningKey();
+        return builder.header().keyId(signingKey.kid()).and()
+                .signWith(signingKey.privateKey())
                 .compact();
     }
 
+    // Verify signature and expiry once; repeat presentations of the same token hit the cache
+    public VerifiedToken verify(String token) {
+        String digest = verifiedTokenCache.digest(token);
+        VerifiedToken verified = verifiedTokenCache.get(digest);
+        if (verified == null) {
+            verified = new VerifiedToken(parser.parseSignedClaims(token).getPayload());
+            verifiedTokenCache.put(digest, verified);
+        }
+        return verified;
+    }
+
     // Extract username from token
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).getSubject();
     }
 
     // Extract user ID from token
     public String extractUserId(String token) {
-        return extractClaim(token, claims -> claims.get("userId", String.class));
+        return verify(token).getUserId();
     }
 
     // Extract user type from token
     public String extractUserType(String token) {
-        return extractClaim(token, claims -> claims.get("userType", String.class));
+        return verify(token).getUserType();
     }
 
     // Extract expiration date
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return verify(token).getExpiration();
     }
 
     // Extract single claim
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+        return claimsResolver.apply(verify(token).getClaims());
     }
 
     // Extract all claims
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    public Claims extractAllClaims(String token) {
+        return verify(token).getClaims();
     }
 
     // Check if token is expired
     public Boolean isTokenExpired(String token) {
         try {
-            return extractExpiration(token).before(new Date());
+            return verify(token).isExpired();
         } catch (Exception e) {
             log.error("Error checking token expiration: {}", e.getMessage());
             return true;
@@ -123,8 +138,8 @@ public class JwtUtil {
     // Validate token
     public Boolean validateToken(String token, UserDetails userDetails) {
         try {
-            final String username = extractUsername(token);
-            return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+            VerifiedToken verified = verify(token);
+            return verified.getSubject().equals(userDetails.getUsername()) && !verified.isExpired();
         } catch (Exception e) {
             log.error("Token validation failed: {}", e.getMessage());
             return false;
@@ -134,8 +149,7 @@ public class JwtUtil {
     // Validate token without UserDetails
     public Boolean validateToken(String token) {
         try {
-            extractAllClaims(token);
-            return !isTokenExpired(token);
+            return !verify(token).isExpired();
         } catch (Exception e) {
             log.error("Token validation failed: {}", e.getMessage());
             return false;
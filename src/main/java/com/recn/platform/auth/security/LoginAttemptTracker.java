@@ -0,0 +1,25 @@
+package com.recn.platform.auth.security;
+
+/**
+ * Counts failed logins per key (an email or a client IP) over a sliding time window.
+ * The in-process implementation is {@link InMemoryLoginAttemptTracker}; a shared store can
+ * implement the same contract when several nodes need to agree on the counts.
+ */
+public interface LoginAttemptTracker {
+
+    // Records one failure and returns the number of failures for the key within the window
+    int recordFailure(String key);
+
+    // Failures for the key within the window, without recording one
+    int failures(String key);
+
+    void reset(String key);
+
+    static String emailKey(String email) {
+        return "email:" + email.toLowerCase();
+    }
+
+    static String ipKey(String ip) {
+        return "ip:" + ip;
+    }
+}
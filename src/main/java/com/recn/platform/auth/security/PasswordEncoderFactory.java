@@ -0,0 +1,204 @@
+package com.recn.platform.auth.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Builds the {@link DelegatingPasswordEncoder} used for all stored passwords.
+ *
+ * New hashes use {@code app.security.password-hashing.algorithm}. At startup its cost is calibrated
+ * to the highest value whose hash time on this machine stays within the target latency. BCrypt and
+ * Argon2 store their parameters in the hash, so older hashes keep verifying, and
+ * {@link PasswordEncoder#upgradeEncoding} reports them for re-hashing on the next login. PBKDF2
+ * stores no iteration count, so its cost is fixed by configuration rather than calibrated.
+ * Hashes without an {@code {id}} prefix are legacy BCrypt.
+ */
+@Component
+@Slf4j
+public class PasswordEncoderFactory {
+
+    static final String BCRYPT = "bcrypt";
+    static final String ARGON2 = "argon2id";
+    static final String PBKDF2 = "pbkdf2";
+
+    private static final String PROBE_PASSWORD = "Calibration#Passw0rd";
+    private static final int PROBE_ROUNDS = 3;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.security.password-hashing.algorithm:bcrypt}")
+    private String algorithm;
+
+    @Value("${app.security.password-hashing.calibrate:true}")
+    private boolean calibrate;
+
+    @Value("${app.security.password-hashing.target-latency:PT0.25S}")
+    private Duration targetLatency;
+
+    @Value("${app.security.password-hashing.bcrypt.min-strength:10}")
+    private int bcryptMinStrength;
+
+    @Value("${app.security.password-hashing.bcrypt.max-strength:14}")
+    private int bcryptMaxStrength;
+
+    @Value("${app.security.password-hashing.argon2.memory-kib:19456}")
+    private int argon2MemoryKib;
+
+    @Value("${app.security.password-hashing.argon2.parallelism:1}")
+    private int argon2Parallelism;
+
+    @Value("${app.security.password-hashing.argon2.min-iterations:2}")
+    private int argon2MinIterations;
+
+    @Value("${app.security.password-hashing.argon2.max-iterations:10}")
+    private int argon2MaxIterations;
+
+    @Value("${app.security.password-hashing.pbkdf2.iterations:310000}")
+    private int pbkdf2Iterations;
+
+    public PasswordEncoderFactory(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public PasswordEncoder create() {
+        int bcryptStrength = bcryptMinStrength;
+        int argon2Iterations = argon2MinIterations;
+
+        switch (algorithm) {
+            case BCRYPT -> bcryptStrength = calibrate(BCRYPT, bcryptMinStrength, bcryptMaxStrength, this::bcrypt);
+            case ARGON2 -> argon2Iterations = calibrate(ARGON2, argon2MinIterations, argon2MaxIterations, this::argon2);
+            case PBKDF2 -> log.info("Password hashing: pbkdf2 with {} iterations (not calibrated)", pbkdf2Iterations);
+            default -> throw new IllegalStateException("Unsupported password hashing algorithm: " + algorithm);
+        }
+
+        int encodeCost = switch (algorithm) {
+            case BCRYPT -> bcryptStrength;
+            case ARGON2 -> argon2Iterations;
+            default -> pbkdf2Iterations;
+        };
+        Gauge.builder("auth.password.hash.encode.cost", () -> encodeCost)
+                .description("Cost parameter used for newly created password hashes")
+                .tag("algorithm", algorithm)
+                .register(meterRegistry);
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT, bcrypt(bcryptStrength));
+        encoders.put(ARGON2, argon2(argon2Iterations));
+        encoders.put(PBKDF2, pbkdf2());
+
+        MeteredDelegatingPasswordEncoder encoder = new MeteredDelegatingPasswordEncoder(algorithm, encoders);
+        encoder.setDefaultPasswordEncoderForMatches(encoders.get(BCRYPT));
+        return encoder;
+    }
+
+    // Highest cost in [min, max] whose hash time stays within the target; never below min
+    private int calibrate(String name, int min, int max, IntFunction<PasswordEncoder> encoderForCost) {
+        if (!calibrate) {
+            log.info("Password hashing: {} with cost {} (calibration disabled)", name, min);
+            return min;
+        }
+
+        encoderForCost.apply(min).encode(PROBE_PASSWORD); // warm-up
+        long targetNanos = targetLatency.toNanos();
+        int chosen = min;
+        long chosenNanos = measure(encoderForCost.apply(min));
+
+        for (int cost = min + 1; cost <= max && chosenNanos <= targetNanos; cost++) {
+            long nanos = measure(encoderForCost.apply(cost));
+            if (nanos > targetNanos) {
+                break;
+            }
+            chosen = cost;
+            chosenNanos = nanos;
+        }
+
+        log.info("Password hashing: {} calibrated to cost {} ({} ms per hash, target {} ms)",
+                name, chosen, chosenNanos / 1_000_000, targetLatency.toMillis());
+        return chosen;
+    }
+
+    // Median of a few runs, so a single GC pause doesn't skew the choice
+    private long measure(PasswordEncoder encoder) {
+        long[] samples = new long[PROBE_ROUNDS];
+        for (int i = 0; i < PROBE_ROUNDS; i++) {
+            long start = System.nanoTime();
+            encoder.encode(PROBE_PASSWORD);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[PROBE_ROUNDS / 2];
+    }
+
+    private PasswordEncoder bcrypt(int strength) {
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    private PasswordEncoder argon2(int iterations) {
+        return new Argon2PasswordEncoder(16, 32, argon2Parallelism, argon2MemoryKib, iterations);
+    }
+
+    private PasswordEncoder pbkdf2() {
+        return new Pbkdf2PasswordEncoder("", 16, pbkdf2Iterations,
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+    }
+
+    /**
+     * Counts successful verifications per stored algorithm and cost, i.e. the hash-cost
+     * distribution of the users who actually log in.
+     */
+    private class MeteredDelegatingPasswordEncoder extends DelegatingPasswordEncoder {
+
+        MeteredDelegatingPasswordEncoder(String idForEncode, Map<String, PasswordEncoder> encoders) {
+            super(idForEncode, encoders);
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String prefixEncodedPassword) {
+            boolean matches = super.matches(rawPassword, prefixEncodedPassword);
+            if (matches) {
+                String[] algorithmAndCost = describe(prefixEncodedPassword);
+                meterRegistry.counter("auth.password.hash.cost",
+                        "algorithm", algorithmAndCost[0],
+                        "cost", algorithmAndCost[1]).increment();
+            }
+            return matches;
+        }
+
+        private String[] describe(String stored) {
+            String id = BCRYPT;
+            String hash = stored;
+            if (stored.startsWith("{")) {
+                int end = stored.indexOf('}');
+                id = stored.substring(1, end);
+                hash = stored.substring(end + 1);
+            }
+
+            String cost = switch (id) {
+                // $2a$12$...
+                case BCRYPT -> hash.length() > 6 ? hash.substring(4, 6) : "unknown";
+                // $argon2id$v=19$m=19456,t=2,p=1$...
+                case ARGON2 -> {
+                    String[] parts = hash.split("\\$");
+                    yield parts.length > 3 ? parts[3] : "unknown";
+                }
+                case PBKDF2 -> String.valueOf(pbkdf2Iterations);
+                default -> "unknown";
+            };
+            return new String[] {stored.startsWith("{") ? id : BCRYPT + "-legacy", cost};
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.recn.platform.auth.security;
+
+import com.recn.platform.auth.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing on a fixed pool sized to the available cores, so credential bursts
+ * cannot occupy every request thread. Work that cannot be queued, or that waits in the queue
+ * longer than the configured timeout, fails fast with {@link ServiceBusyException}.
+ * The workers stay platform threads in the virtual-thread mode as well, so CPU-bound hashing
+ * never occupies the carriers that request threads are scheduled on.
+ */
+@Component
+@Slf4j
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final long queueWaitTimeoutNanos;
+    private final long hashTimeoutNanos;
+    private final long retryAfterSeconds;
+
+    private final Timer waitTimer;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter queueFullCounter;
+    private final Counter timeoutCounter;
+
+    public PasswordHashingExecutor(
+            @Value("${app.security.password-hashing.threads:0}") int threads,
+            @Value("${app.security.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${app.security.password-hashing.queue-wait-timeout:PT2S}") Duration queueWaitTimeout,
+            @Value("${app.security.password-hashing.hash-timeout:PT5S}") Duration hashTimeout,
+            @Value("${app.security.password-hashing.retry-after:PT2S}") Duration retryAfter,
+            MeterRegistry meterRegistry
+    ) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hash-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.queueWaitTimeoutNanos = queueWaitTimeout.toNanos();
+        this.hashTimeoutNanos = hashTimeout.toNanos();
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+
+        Gauge.builder("auth.password.hashing.queue.depth", executor, e -> e.getQueue().size())
+                .description("Password hashing tasks waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing workers currently busy")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("auth.password.hashing.wait")
+                .description("Time a hashing task spent queued before a worker picked it up")
+                .register(meterRegistry);
+        this.encodeTimer = Timer.builder("auth.password.hashing.time")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("auth.password.hashing.time")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.queueFullCounter = Counter.builder("auth.password.hashing.rejected")
+                .tag("reason", "queue_full")
+                .register(meterRegistry);
+        this.timeoutCounter = Counter.builder("auth.password.hashing.rejected")
+                .tag("reason", "timeout")
+                .register(meterRegistry);
+
+        log.info("Password hashing pool: {} threads, queue capacity {}, queue wait timeout {}",
+                poolSize, queueCapacity, queueWaitTimeout);
+    }
+
+    public String encode(Supplier<String> task) {
+        return execute(task, encodeTimer);
+    }
+
+    public boolean matches(Supplier<Boolean> task) {
+        return execute(task, matchesTimer);
+    }
+
+    private <T> T execute(Supplier<T> task, Timer hashTimer) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long waited = System.nanoTime() - enqueuedAt;
+                waitTimer.record(waited, TimeUnit.NANOSECONDS);
+                // The caller has most likely given up already; don't burn a core on the hash
+                if (waited > queueWaitTimeoutNanos) {
+                    throw busy(timeoutCounter);
+                }
+                return hashTimer.record(task);
+            });
+        } catch (RejectedExecutionException e) {
+            throw busy(queueFullCounter);
+        }
+
+        try {
+            return future.get(queueWaitTimeoutNanos + hashTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            throw busy(timeoutCounter);
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw busy(timeoutCounter);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Password hashing failed", cause);
+        }
+    }
+
+    private ServiceBusyException busy(Counter counter) {
+        counter.increment();
+        return new ServiceBusyException(
+                "Authentication service is busy. Please retry shortly.", retryAfterSeconds);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,189 @@
+package com.recn.platform.auth.security;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.recn.platform.auth.dto.response.ApiResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Throttles the public auth endpoints before any hashing or database work happens.
+ *
+ * Every request takes a token from its client IP bucket, its email bucket (login and register) and
+ * the global bucket; the first empty bucket ends the request with 429 and Retry-After. Per-key buckets
+ * live in size-bounded caches and expire once idle for a full refill period, when they would be full anyway.
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Set<String> LIMITED_PATHS = Set.of("/auth/login", "/auth/register", "/auth/refresh-token");
+    private static final Set<String> EMAIL_PATHS = Set.of("/auth/login", "/auth/register");
+    private static final int MAX_INSPECTED_BODY_BYTES = 16 * 1024;
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+
+    private final Limit ipLimit;
+    private final Limit emailLimit;
+    private final TokenBucket globalBucket;
+    private final Cache<String, TokenBucket> ipBuckets;
+    private final Cache<String, TokenBucket> emailBuckets;
+    private final Map<String, Counter> rejections = new ConcurrentHashMap<>();
+
+    public RateLimitFilter(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.rate-limit.enabled:true}") boolean enabled,
+            @Value("${app.rate-limit.per-ip.capacity:20}") long ipCapacity,
+            @Value("${app.rate-limit.per-ip.period:PT1M}") Duration ipPeriod,
+            @Value("${app.rate-limit.per-email.capacity:10}") long emailCapacity,
+            @Value("${app.rate-limit.per-email.period:PT1M}") Duration emailPeriod,
+            @Value("${app.rate-limit.global.capacity:200}") long globalCapacity,
+            @Value("${app.rate-limit.global.period:PT1S}") Duration globalPeriod,
+            @Value("${app.rate-limit.maximum-keys:100000}") long maximumKeys
+    ) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.ipLimit = new Limit(ipCapacity, ipPeriod);
+        this.emailLimit = new Limit(emailCapacity, emailPeriod);
+        this.globalBucket = new Limit(globalCapacity, globalPeriod).newBucket();
+        this.ipBuckets = buckets(ipPeriod, maximumKeys);
+        this.emailBuckets = buckets(emailPeriod, maximumKeys);
+        CaffeineCacheMetrics.monitor(meterRegistry, ipBuckets, "rate-limit.ip");
+        CaffeineCacheMetrics.monitor(meterRegistry, emailBuckets, "rate-limit.email");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled
+                || !"POST".equals(request.getMethod())
+                || !LIMITED_PATHS.contains(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        String path = request.getServletPath();
+        long now = System.nanoTime();
+
+        long wait = ipBuckets.get(ClientIp.resolve(request), key -> ipLimit.newBucket()).tryAcquire(now);
+        if (wait > 0) {
+            reject(response, "ip", path, wait);
+            return;
+        }
+
+        // Bodies declared larger than the inspection limit are passed through untouched, and at most
+        // one byte past the limit is read from the rest, so oversized payloads are never buffered here
+        if (EMAIL_PATHS.contains(path) && request.getContentLengthLong() <= MAX_INSPECTED_BODY_BYTES) {
+            CachedBodyHttpServletRequest cached = cacheBody(request);
+            request = cached;
+            String email = cached.isComplete() ? extractEmail(cached.getBody()) : null;
+            if (email != null) {
+                wait = emailBuckets.get(email, key -> emailLimit.newBucket()).tryAcquire(now);
+                if (wait > 0) {
+                    reject(response, "email", path, wait);
+                    return;
+                }
+            }
+        }
+
+        wait = globalBucket.tryAcquire(now);
+        if (wait > 0) {
+            reject(response, "global", path, wait);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private void reject(HttpServletResponse response, String bucket, String path, long waitNanos) throws IOException {
+        rejections.computeIfAbsent(bucket + path, key -> Counter.builder("auth.rate-limit.rejected")
+                        .tag("bucket", bucket)
+                        .tag("endpoint", path)
+                        .register(meterRegistry))
+                .increment();
+
+        long retryAfterSeconds = Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+        log.debug("Rate limited {} on {} bucket, retry after {}s", path, bucket, retryAfterSeconds);
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error(
+                "Too many requests. Please try again later.",
+                HttpStatus.TOO_MANY_REQUESTS.value()
+        ));
+    }
+
+    private CachedBodyHttpServletRequest cacheBody(HttpServletRequest request) throws IOException {
+        byte[] head = request.getInputStream().readNBytes(MAX_INSPECTED_BODY_BYTES + 1);
+        return new CachedBodyHttpServletRequest(request, head, head.length <= MAX_INSPECTED_BODY_BYTES);
+    }
+
+    // Top-level "email" field, lower-cased; anything unparseable is left to the controller to reject
+    private String extractEmail(byte[] body) {
+        if (body.length == 0) {
+            return null;
+        }
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("email".equals(field) && value == JsonToken.VALUE_STRING) {
+                    return parser.getText().trim().toLowerCase();
+                }
+                parser.skipChildren();
+            }
+        } catch (IOException e) {
+            log.debug("Could not inspect request body: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    private static Cache<String, TokenBucket> buckets(Duration period, long maximumKeys) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(period)
+                .recordStats()
+                .build();
+    }
+
+    private record Limit(long capacity, Duration period) {
+
+        TokenBucket newBucket() {
+            return new TokenBucket(capacity, period.toNanos());
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.recn.platform.auth.security;
+
+import com.recn.platform.auth.enums.UserType;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable view of roles, permissions and role_permissions.
+ *
+ * Permissions get dense indices and every role owns a bitset over them, so expanding a role set
+ * into permissions is a handful of word-wide ORs instead of a join.
+ */
+public final class RbacSnapshot {
+
+    public static final RbacSnapshot EMPTY = new Builder().build("empty");
+
+    @Getter
+    private final String version;
+
+    @Getter
+    private final LocalDateTime loadedAt;
+
+    private final Map<String, Integer> roleIdsByName;
+    private final Map<Integer, String> roleNamesById;
+    private final Map<String, Integer> permissionIndices;
+    private final String[] permissionNames;
+    private final Map<Integer, BitSet> permissionsByRole;
+    private final Map<UserType, Integer> defaultRoleIds;
+
+    private RbacSnapshot(Builder builder, String version) {
+        this.version = version;
+        this.loadedAt = LocalDateTime.now();
+        this.roleIdsByName = Map.copyOf(builder.roleIdsByName);
+        this.roleNamesById = Map.copyOf(builder.roleNamesById);
+        this.permissionIndices = Map.copyOf(builder.permissionIndices);
+        this.permissionNames = builder.permissionNames.toArray(new String[0]);
+        this.permissionsByRole = Map.copyOf(builder.permissionsByRole);
+
+        EnumMap<UserType, Integer> defaults = new EnumMap<>(UserType.class);
+        for (UserType userType : UserType.values()) {
+            Integer roleId = roleIdsByName.get(defaultRoleName(userType));
+            if (roleId != null) {
+                defaults.put(userType, roleId);
+            }
+        }
+        this.defaultRoleIds = defaults;
+    }
+
+    public static String defaultRoleName(UserType userType) {
+        return switch (userType) {
+            case CAMPUS -> "CAMPUS_ADMIN";
+            case STUDENT -> "STUDENT";
+            case COMPANY -> "COMPANY_RECRUITER";
+            case ADMIN -> "SUPER_ADMIN";
+        };
+    }
+
+    // Role ID assigned to new users of this type, or null when the role is not seeded
+    public Integer defaultRoleId(UserType userType) {
+        return defaultRoleIds.get(userType);
+    }
+
+    public Integer roleId(String roleName) {
+        return roleIdsByName.get(roleName);
+    }
+
+    public String roleName(Integer roleId) {
+        return roleNamesById.get(roleId);
+    }
+
+    public int roleCount() {
+        return roleIdsByName.size();
+    }
+
+    public int permissionCount() {
+        return permissionNames.length;
+    }
+
+    // Union of the permission bitsets of the given roles
+    public BitSet permissionsOf(Collection<Integer> roleIds) {
+        BitSet permissions = new BitSet(permissionNames.length);
+        for (Integer roleId : roleIds) {
+            BitSet rolePermissions = permissionsByRole.get(roleId);
+            if (rolePermissions != null) {
+                permissions.or(rolePermissions);
+            }
+        }
+        return permissions;
+    }
+
+    public boolean hasPermission(BitSet permissions, String permissionName) {
+        Integer index = permissionIndices.get(permissionName);
+        return index != null && permissions.get(index);
+    }
+
+    public List<String> permissionNames(BitSet permissions) {
+        List<String> names = new ArrayList<>(permissions.cardinality());
+        for (int i = permissions.nextSetBit(0); i >= 0; i = permissions.nextSetBit(i + 1)) {
+            names.add(permissionNames[i]);
+        }
+        return names;
+    }
+
+    public static class Builder {
+
+        private final Map<String, Integer> roleIdsByName = new HashMap<>();
+        private final Map<Integer, String> roleNamesById = new HashMap<>();
+        private final Map<String, Integer> permissionIndices = new HashMap<>();
+        private final List<String> permissionNames = new ArrayList<>();
+        private final Map<Integer, BitSet> permissionsByRole = new HashMap<>();
+
+        public Builder role(Integer roleId, String roleName) {
+            roleIdsByName.put(roleName, roleId);
+            roleNamesById.put(roleId, roleName);
+            permissionsByRole.computeIfAbsent(roleId, id -> new BitSet());
+            return this;
+        }
+
+        public Builder permission(String permissionName) {
+            permissionIndices.computeIfAbsent(permissionName, name -> {
+                permissionNames.add(name);
+                return permissionNames.size() - 1;
+            });
+            return this;
+        }
+
+        public Builder grant(Integer roleId, String permissionName) {
+            permission(permissionName);
+            permissionsByRole.computeIfAbsent(roleId, id -> new BitSet())
+                    .set(permissionIndices.get(permissionName));
+            return this;
+        }
+
+        public RbacSnapshot build(String version) {
+            return new RbacSnapshot(this, version);
+        }
+    }
+}
@@ -0,0 +1,401 @@
+package com.recn.platform.auth.security;
+
+import com.recn.platform.auth.entity.SigningKey;
+import com.recn.platform.auth.maintenance.AdvisoryLock;
+import com.recn.platform.auth.repository.SigningKeyRepository;
+import io.jsonwebtoken.Header;
+import io.jsonwebtoken.Locator;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Asymmetric JWT signing keys with kid-based rotation.
+ *
+ * Keys live in the signing_keys table so every node signs with the same key and publishes the
+ * same JWKS. A new key is published {@code publish-ahead} before it starts signing, and a
+ * superseded key stays published for {@code overlap} so tokens it signed keep verifying.
+ * Verification resolves keys by kid from an in-memory map; tokens without a kid fall back to the
+ * legacy HS256 secret while {@code accept-legacy-hmac} is enabled, and then only until one access-token
+ * lifetime after the first ring key started signing; by then no legacy token can still be valid.
+ * Every node runs the rotation, but only under a MySQL advisory lock, so two nodes never both
+ * create the next key; a node that cannot get the lock just reloads what the holder wrote.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SigningKeyRing implements Locator<Key> {
+
+    public static final String HS256 = "HS256";
+    public static final String ES256 = "ES256";
+    public static final String EDDSA = "EdDSA";
+
+    private static final long UNKNOWN_KID_RELOAD_INTERVAL_MILLIS = 30_000;
+    private static final int GCM_IV_LENGTH = 12;
+    private static final int GCM_TAG_BITS = 128;
+
+    private final SigningKeyRepository signingKeyRepository;
+    private final MeterRegistry meterRegistry;
+    private final AdvisoryLock advisoryLock;
+    private final SecureRandom secureRandom = new SecureRandom();
+    // A lock rather than synchronized: reloads run JDBC, which would pin a virtual thread's carrier
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    @Value("${jwt.secret}")
+    private String secret;
+
+    @Value("${jwt.signing.algorithm:ES256}")
+    private String algorithm;
+
+    @Value("${jwt.signing.rotation-period:P30D}")
+    private Duration rotationPeriod;
+
+    @Value("${jwt.signing.publish-ahead:PT1H}")
+    private Duration publishAhead;
+
+    @Value("${jwt.signing.overlap:P8D}")
+    private Duration overlap;
+
+    @Value("${jwt.signing.accept-legacy-hmac:false}")
+    private boolean acceptLegacyHmac;
+
+    @Value("${jwt.signing.lock-name:recn-auth-signing-keys}")
+    private String lockName;
+
+    @Value("${jwt.signing.lock-wait:PT10S}")
+    private Duration lockWait;
+
+    @Value("${jwt.access-token-expiration}")
+    private long accessTokenExpiration;
+
+    private SecretKey hmacKey;
+    private SecretKey wrappingKey;
+    private volatile KeySnapshot snapshot = KeySnapshot.EMPTY;
+    private volatile long lastReloadMillis;
+    // Legacy tokens are accepted until then; null until the oldest ring key is known
+    private volatile LocalDateTime legacyHmacCutoff;
+
+    @PostConstruct
+    public void init() {
+        this.hmacKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.wrappingKey = new SecretKeySpec(sha256(secret.getBytes(StandardCharsets.UTF_8)), "AES");
+
+        if (!isHmac()) {
+            rotate();
+            log.info("JWT signing key ring initialized with {} key(s), signing with kid: {}",
+                    snapshot.verificationKeys().size(), snapshot.signingKid());
+            if (acceptLegacyHmac) {
+                log.warn("Accepting legacy HS256 tokens without a kid until {}", legacyHmacCutoff);
+            }
+        }
+    }
+
+    public boolean isHmac() {
+        return HS256.equalsIgnoreCase(algorithm);
+    }
+
+    public SecretKey getHmacKey() {
+        return hmacKey;
+    }
+
+    // Current signing key; only meaningful when not in HS256 mode
+    public ActiveKey currentSigningKey() {
+        KeySnapshot current = snapshot;
+        if (current.signingKey() == null) {
+            throw new IllegalStateException("No active JWT signing key");
+        }
+        return new ActiveKey(current.signingKid(), current.signingKey());
+    }
+
+    // Public keys currently published, as JWK objects
+    public List<Map<String, Object>> getPublishedJwks() {
+        return snapshot.jwks();
+    }
+
+    @Override
+    public Key locate(Header header) {
+        String kid = header instanceof ProtectedHeader protectedHeader ? protectedHeader.getKeyId() : null;
+
+        if (kid == null) {
+            if (isHmac()) {
+                return hmacKey;
+            }
+            return legacyHmacKey();
+        }
+
+        PublicKey key = snapshot.verificationKeys().get(kid);
+        if (key == null && reloadForUnknownKid()) {
+            key = snapshot.verificationKeys().get(kid);
+        }
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown signing key id: " + kid);
+        }
+        return key;
+    }
+
+    private Key legacyHmacKey() {
+        LocalDateTime cutoff = legacyHmacCutoff;
+        if (acceptLegacyHmac && cutoff != null && LocalDateTime.now().isBefore(cutoff)) {
+            meterRegistry.counter("auth.tokens.legacy-hmac", "result", "accepted").increment();
+            log.debug("Accepted legacy HS256 token without a kid");
+            return hmacKey;
+        }
+        meterRegistry.counter("auth.tokens.legacy-hmac", "result", "rejected").increment();
+        throw new UnsupportedJwtException("Token has no key id");
+    }
+
+    // Create the next key when due, drop expired ones and refresh the in-memory view
+    @Scheduled(
+            fixedDelayString = "${jwt.signing.refresh-interval:PT5M}",
+            initialDelayString = "${jwt.signing.refresh-interval:PT5M}"
+    )
+    public void rotate() {
+        if (isHmac()) {
+            return;
+        }
+        reloadLock.lock();
+        try {
+            if (!advisoryLock.runExclusively(lockName, lockWait, this::rotateKeys)) {
+                // Another node is rotating (or MySQL is unreachable): take whatever is stored
+                apply(signingKeyRepository.findAllByOrderByActivatedAtAscKidAsc(), LocalDateTime.now());
+            }
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    // Reads the keys only once the advisory lock is held, so a key another node just created is seen
+    private void rotateKeys() {
+        LocalDateTime now = LocalDateTime.now();
+        List<SigningKey> keys = new ArrayList<>(signingKeyRepository.findAllByOrderByActivatedAtAscKidAsc());
+
+        SigningKey newest = keys.isEmpty() ? null : keys.get(keys.size() - 1);
+        if (newest == null) {
+            keys.add(createKey(now));
+        } else if (isRotationDue(newest, now)) {
+            LocalDateTime activateAt = newest.getActivatedAt().plus(rotationPeriod);
+            LocalDateTime earliest = now.plus(publishAhead);
+            keys.add(createKey(activateAt.isBefore(earliest) ? earliest : activateAt));
+        }
+
+        List<String> expired = new ArrayList<>();
+        for (int i = 0; i < keys.size() - 1; i++) {
+            LocalDateTime supersededAt = keys.get(i + 1).getActivatedAt();
+            if (!supersededAt.isAfter(now) && supersededAt.plus(overlap).isBefore(now)) {
+                expired.add(keys.get(i).getKid());
+            }
+        }
+        if (!expired.isEmpty()) {
+            signingKeyRepository.deleteAllById(expired);
+            keys.removeIf(key -> expired.contains(key.getKid()));
+            log.info("Removed {} expired JWT signing key(s)", expired.size());
+        }
+
+        apply(keys, now);
+    }
+
+    private void apply(List<SigningKey> keys, LocalDateTime now) {
+        this.snapshot = buildSnapshot(keys, now);
+        this.lastReloadMillis = System.currentTimeMillis();
+        if (!keys.isEmpty()) {
+            // The oldest key is kept for the overlap after it is superseded, far longer than a token lives
+            this.legacyHmacCutoff = keys.get(0).getActivatedAt().plus(Duration.ofMillis(accessTokenExpiration));
+        }
+    }
+
+    private boolean isRotationDue(SigningKey newest, LocalDateTime now) {
+        if (newest.getActivatedAt().isAfter(now)) {
+            return false; // next key already published, waiting for activation
+        }
+        if (!newest.getAlgorithm().equals(normalizedAlgorithm())) {
+            return true; // configured algorithm changed
+        }
+        return !newest.getActivatedAt().plus(rotationPeriod).minus(publishAhead).isAfter(now);
+    }
+
+    // Another node may have published a key we have not loaded yet; reload at most every 30s
+    private boolean reloadForUnknownKid() {
+        reloadLock.lock();
+        try {
+            if (isHmac() || System.currentTimeMillis() - lastReloadMillis < UNKNOWN_KID_RELOAD_INTERVAL_MILLIS) {
+                return false;
+            }
+            apply(signingKeyRepository.findAllByOrderByActivatedAtAscKidAsc(), LocalDateTime.now());
+            return true;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private SigningKey createKey(LocalDateTime activateAt) {
+        String alg = normalizedAlgorithm();
+        try {
+            KeyPair keyPair = generateKeyPair(alg);
+            SigningKey signingKey = SigningKey.builder()
+                    .kid(UUID.randomUUID().toString())
+                    .algorithm(alg)
+                    .publicKey(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()))
+                    .privateKey(Base64.getEncoder().encodeToString(encrypt(keyPair.getPrivate().getEncoded())))
+                    .activatedAt(activateAt)
+                    .build();
+            signingKey = signingKeyRepository.save(signingKey);
+            log.info("Created {} signing key {} active from {}", alg, signingKey.getKid(), activateAt);
+            return signingKey;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to create JWT signing key", e);
+        }
+    }
+
+    private KeySnapshot buildSnapshot(List<SigningKey> keys, LocalDateTime now) {
+        Map<String, PublicKey> verificationKeys = new HashMap<>();
+        List<Map<String, Object>> jwks = new ArrayList<>();
+        String signingKid = null;
+        PrivateKey signingKey = null;
+
+        for (SigningKey key : keys) {
+            try {
+                PublicKey publicKey = keyFactory(key.getAlgorithm())
+                        .generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(key.getPublicKey())));
+                verificationKeys.put(key.getKid(), publicKey);
+                jwks.add(toJwk(key.getKid(), key.getAlgorithm(), publicKey));
+
+                if (!key.getActivatedAt().isAfter(now)) {
+                    byte[] pkcs8 = decrypt(Base64.getDecoder().decode(key.getPrivateKey()));
+                    signingKey = keyFactory(key.getAlgorithm()).generatePrivate(new PKCS8EncodedKeySpec(pkcs8));
+                    signingKid = key.getKid();
+                }
+            } catch (GeneralSecurityException | IllegalArgumentException e) {
+                log.error("Skipping unreadable JWT signing key {}: {}", key.getKid(), e.getMessage());
+            }
+        }
+
+        return new KeySnapshot(Map.copyOf(verificationKeys), List.copyOf(jwks), signingKid, signingKey);
+    }
+
+    private Map<String, Object> toJwk(String kid, String alg, PublicKey publicKey) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kid", kid);
+        jwk.put("use", "sig");
+        jwk.put("alg", alg);
+
+        if (publicKey instanceof ECPublicKey ecPublicKey) {
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("x", base64Url(unsigned(ecPublicKey.getW().getAffineX(), 32)));
+            jwk.put("y", base64Url(unsigned(ecPublicKey.getW().getAffineY(), 32)));
+        } else {
+            // Ed25519 SubjectPublicKeyInfo ends with the 32-byte raw public key
+            byte[] encoded = publicKey.getEncoded();
+            jwk.put("kty", "OKP");
+            jwk.put("crv", "Ed25519");
+            jwk.put("x", base64Url(Arrays.copyOfRange(encoded, encoded.length - 32, encoded.length)));
+        }
+        return Collections.unmodifiableMap(jwk);
+    }
+
+    private String normalizedAlgorithm() {
+        return EDDSA.equalsIgnoreCase(algorithm) ? EDDSA : ES256;
+    }
+
+    private KeyPair generateKeyPair(String alg) throws GeneralSecurityException {
+        if (EDDSA.equals(alg)) {
+            return KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+        }
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"), secureRandom);
+        return generator.generateKeyPair();
+    }
+
+    private KeyFactory keyFactory(String alg) throws GeneralSecurityException {
+        return KeyFactory.getInstance(EDDSA.equals(alg) ? "Ed25519" : "EC");
+    }
+
+    private byte[] encrypt(byte[] plain) throws GeneralSecurityException {
+        byte[] iv = new byte[GCM_IV_LENGTH];
+        secureRandom.nextBytes(iv);
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, wrappingKey, new GCMParameterSpec(GCM_TAG_BITS, iv));
+        byte[] encrypted = cipher.doFinal(plain);
+        return ByteBuffer.allocate(iv.length + encrypted.length).put(iv).put(encrypted).array();
+    }
+
+    private byte[] decrypt(byte[] stored) throws GeneralSecurityException {
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.DECRYPT_MODE, wrappingKey, new GCMParameterSpec(GCM_TAG_BITS, stored, 0, GCM_IV_LENGTH));
+        return cipher.doFinal(stored, GCM_IV_LENGTH, stored.length - GCM_IV_LENGTH);
+    }
+
+    private static byte[] sha256(byte[] input) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(input);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static byte[] unsigned(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length == length) {
+            return bytes;
+        }
+        byte[] fixed = new byte[length];
+        int copy = Math.min(bytes.length, length);
+        System.arraycopy(bytes, bytes.length - copy, fixed, length - copy, copy);
+        return fixed;
+    }
+
+    private static String base64Url(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    public record ActiveKey(String kid, PrivateKey privateKey) {
+    }
+
+    private record KeySnapshot(Map<String, PublicKey> verificationKeys,
+                               List<Map<String, Object>> jwks,
+                               String signingKid,
+                               PrivateKey signingKey) {
+
+        static final KeySnapshot EMPTY = new KeySnapshot(Map.of(), List.of(), null, null);
+    }
+}
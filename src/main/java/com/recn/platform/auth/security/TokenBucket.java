@@ -0,0 +1,35 @@
+package com.recn.platform.auth.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket in its GCRA form: the whole state is one "theoretical arrival time", updated by CAS.
+ * Holding {@code capacity} tokens that refill at {@code capacity} per {@code periodNanos} is equivalent
+ * to spacing requests one emission interval apart with a burst allowance of {@code capacity - 1}.
+ */
+final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+    TokenBucket(long capacity, long periodNanos) {
+        this.emissionIntervalNanos = Math.max(1, periodNanos / capacity);
+        this.burstToleranceNanos = emissionIntervalNanos * (capacity - 1);
+    }
+
+    // 0 when a token was taken, otherwise nanoseconds until one becomes available
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long start = tat == Long.MIN_VALUE ? nowNanos : Math.max(tat, nowNanos);
+            long waitNanos = start - burstToleranceNanos - nowNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrival.compareAndSet(tat, start + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+}
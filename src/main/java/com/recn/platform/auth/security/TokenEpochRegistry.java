@@ -0,0 +1,167 @@
+package com.recn.platform.auth.security;
+
+import com.recn.platform.auth.entity.DeletedUser;
+import com.recn.platform.auth.entity.User;
+import com.recn.platform.auth.repository.DeletedUserRepository;
+import com.recn.platform.auth.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory mirror of users.token_epoch for stateless authentication.
+ *
+ * Access tokens carry the user's epoch at issuance in the {@code epoch} claim; a token whose epoch is
+ * below the current one is rejected. Bumping the epoch (role change, deactivation, deletion, log out
+ * everywhere) therefore invalidates every token of that user at once, without per-token bookkeeping.
+ * The table is loaded on startup and polled for bumps made on other nodes.
+ *
+ * A deleted user has no row left to bump; deletion writes a deleted_users tombstone instead, which
+ * is polled the same way and pins the user's epoch at the maximum. One access-token lifetime later
+ * no token of the user can be valid, and the entry is dropped from the table.
+ */
+@Component
+@Slf4j
+public class TokenEpochRegistry {
+
+    private static final int DELETED = Integer.MAX_VALUE;
+
+    private final UserRepository userRepository;
+    private final DeletedUserRepository deletedUserRepository;
+    private final TokenEpochTable table = new TokenEpochTable();
+    // Deleted users held in the table, with the time their last access token expires
+    private final Map<String, LocalDateTime> deletedUntil = new ConcurrentHashMap<>();
+
+    private volatile LocalDateTime syncedAt = LocalDateTime.now();
+
+    @Value("${app.security.token-epoch.sync-interval:PT5S}")
+    private Duration syncInterval;
+
+    @Value("${jwt.access-token-expiration}")
+    private long accessTokenExpiration;
+
+    public TokenEpochRegistry(
+            UserRepository userRepository,
+            DeletedUserRepository deletedUserRepository,
+            MeterRegistry meterRegistry
+    ) {
+        this.userRepository = userRepository;
+        this.deletedUserRepository = deletedUserRepository;
+        Gauge.builder("auth.token-epoch.users", table, TokenEpochTable::size)
+                .description("Users with a bumped token epoch held in memory")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void load() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = userRepository.findBumpedTokenEpochs();
+        apply(rows);
+        List<DeletedUser> deleted = deletedUserRepository.findByExpiresAtAfter(now);
+        applyDeleted(deleted);
+        syncedAt = now;
+        log.info("Token epochs loaded for {} user(s), {} deleted", rows.size(), deleted.size());
+    }
+
+    // Constant-time check on the request path; tokens issued before epochs existed carry 0
+    public boolean isStale(String userId, int tokenEpoch) {
+        return tokenEpoch < table.get(userId);
+    }
+
+    // Invalidate all of the user's access tokens. The new epoch is written with the entity and only
+    // applied in memory once the transaction commits, so a rollback cannot strand newly issued tokens
+    public void bump(User user) {
+        int epoch = user.getTokenEpoch() + 1;
+        user.setTokenEpoch(epoch);
+        user.setTokenEpochChangedAt(LocalDateTime.now());
+
+        String userId = user.getUserId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    table.advance(userId, epoch);
+                }
+            });
+        } else {
+            table.advance(userId, epoch);
+        }
+        log.debug("Token epoch for user {} bumped to {}", userId, epoch);
+    }
+
+    // Invalidate all access tokens of a user being deleted, on every node: the tombstone is written in
+    // the caller's transaction and applied here once it commits
+    public void markDeleted(String userId) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(Duration.ofMillis(accessTokenExpiration));
+        deletedUserRepository.insertIgnore(userId, now, expiresAt);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyDeleted(userId, expiresAt);
+                }
+            });
+        } else {
+            applyDeleted(userId, expiresAt);
+        }
+        log.debug("Token epoch for deleted user {} pinned until {}", userId, expiresAt);
+    }
+
+    // Pick up bumps made on other nodes; one interval of overlap covers clock skew
+    @Scheduled(
+            fixedDelayString = "${app.security.token-epoch.sync-interval:PT5S}",
+            initialDelayString = "${app.security.token-epoch.sync-interval:PT5S}"
+    )
+    public void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = syncedAt.minus(syncInterval);
+        apply(userRepository.findTokenEpochsChangedAfter(since));
+        applyDeleted(deletedUserRepository.findByDeletedAtAfterAndExpiresAtAfter(since, now));
+        syncedAt = now;
+        purgeDeleted(now);
+    }
+
+    // Drop deleted users whose last access token has expired
+    void purgeDeleted(LocalDateTime now) {
+        List<String> expired = deletedUntil.entrySet().stream()
+                .filter(entry -> entry.getValue().isBefore(now))
+                .map(Map.Entry::getKey)
+                .toList();
+        if (!expired.isEmpty()) {
+            table.removeAll(expired);
+            expired.forEach(deletedUntil::remove);
+            log.debug("Dropped {} deleted user(s) from the token epoch table", expired.size());
+        }
+    }
+
+    private void apply(List<Object[]> rows) {
+        for (Object[] row : rows) {
+            table.advance((String) row[0], (Integer) row[1]);
+        }
+    }
+
+    private void applyDeleted(List<DeletedUser> deleted) {
+        for (DeletedUser user : deleted) {
+            applyDeleted(user.getUserId(), user.getExpiresAt());
+        }
+    }
+
+    private void applyDeleted(String userId, LocalDateTime expiresAt) {
+        deletedUntil.put(userId, expiresAt);
+        table.advance(userId, DELETED);
+    }
+}
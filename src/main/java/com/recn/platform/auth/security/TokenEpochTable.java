@@ -0,0 +1,128 @@
+package com.recn.platform.auth.security;
+
+import com.recn.platform.auth.entity.id.Uuids;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Open-addressing map from user ID to token epoch, stored as two longs and an int per slot.
+ *
+ * Only users whose epoch was ever bumped are present (absent means 0), so the table stays at a few
+ * tens of bytes per such user even at millions of entries. Reads are lock-free: writers fill a slot
+ * and then republish the table through a volatile write, which readers pick up with a volatile read.
+ * Epochs only move forward. Entries are removed only by rebuilding the table, so a reader never sees
+ * a probe chain with a hole in it.
+ */
+class TokenEpochTable {
+
+    private static final int INITIAL_CAPACITY = 1 << 10;
+    private static final double MAX_LOAD = 0.6;
+
+    private volatile Slots slots = new Slots(INITIAL_CAPACITY);
+    private int size;
+
+    int get(String userId) {
+        long msb = Uuids.mostSignificantBits(userId);
+        long lsb = Uuids.leastSignificantBits(userId);
+        Slots current = slots;
+        int mask = current.msb.length - 1;
+        for (int i = index(msb, lsb, mask); ; i = (i + 1) & mask) {
+            long slotMsb = current.msb[i];
+            if (slotMsb == 0 && current.lsb[i] == 0) {
+                return 0;
+            }
+            if (slotMsb == msb && current.lsb[i] == lsb) {
+                return current.epoch[i];
+            }
+        }
+    }
+
+    // Raise the user's epoch to at least the given value
+    synchronized void advance(String userId, int epoch) {
+        long msb = Uuids.mostSignificantBits(userId);
+        long lsb = Uuids.leastSignificantBits(userId);
+        if (size + 1 > slots.msb.length * MAX_LOAD) {
+            slots = resize(slots);
+        }
+        Slots current = slots;
+        if (put(current, msb, lsb, epoch)) {
+            size++;
+        }
+        slots = current; // publish the slot write to lock-free readers
+    }
+
+    // Drop the given users, e.g. deleted users once their last token has expired
+    synchronized void removeAll(Collection<String> userIds) {
+        Set<UUID> removed = new HashSet<>();
+        for (String userId : userIds) {
+            removed.add(new UUID(Uuids.mostSignificantBits(userId), Uuids.leastSignificantBits(userId)));
+        }
+        Slots old = slots;
+        Slots rebuilt = new Slots(old.msb.length);
+        int kept = 0;
+        for (int i = 0; i < old.msb.length; i++) {
+            if ((old.msb[i] != 0 || old.lsb[i] != 0) && !removed.contains(new UUID(old.msb[i], old.lsb[i]))) {
+                put(rebuilt, old.msb[i], old.lsb[i], old.epoch[i]);
+                kept++;
+            }
+        }
+        size = kept;
+        slots = rebuilt;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    // Returns true when a new slot was taken
+    private static boolean put(Slots target, long msb, long lsb, int epoch) {
+        int mask = target.msb.length - 1;
+        for (int i = index(msb, lsb, mask); ; i = (i + 1) & mask) {
+            if (target.msb[i] == 0 && target.lsb[i] == 0) {
+                // Epoch first, key last: a reader that sees the key also sees its epoch
+                target.epoch[i] = epoch;
+                target.lsb[i] = lsb;
+                target.msb[i] = msb;
+                return true;
+            }
+            if (target.msb[i] == msb && target.lsb[i] == lsb) {
+                target.epoch[i] = Math.max(target.epoch[i], epoch);
+                return false;
+            }
+        }
+    }
+
+    private static Slots resize(Slots old) {
+        Slots bigger = new Slots(old.msb.length * 2);
+        for (int i = 0; i < old.msb.length; i++) {
+            if (old.msb[i] != 0 || old.lsb[i] != 0) {
+                put(bigger, old.msb[i], old.lsb[i], old.epoch[i]);
+            }
+        }
+        return bigger;
+    }
+
+    private static int index(long msb, long lsb, int mask) {
+        long h = msb ^ lsb;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+
+    private static final class Slots {
+
+        final long[] msb;
+        final long[] lsb;
+        final int[] epoch;
+
+        Slots(int capacity) {
+            this.msb = new long[capacity];
+            this.lsb = new long[capacity];
+            this.epoch = new int[capacity];
+        }
+    }
+}
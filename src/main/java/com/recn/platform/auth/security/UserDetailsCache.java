@@ -0,0 +1,62 @@
+package com.recn.platform.auth.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of {@link UserSnapshot}s in front of the user lookup, keyed by lower-cased email.
+ *
+ * Every write that can change a snapshot field evicts the email. The eviction is repeated after
+ * commit, so a load that read the row before the commit cannot leave the old state behind.
+ * Evictions are local to this node; elsewhere the entry lapses after the time-to-live.
+ */
+@Component
+public class UserDetailsCache {
+
+    private final Cache<String, UserSnapshot> cache;
+
+    public UserDetailsCache(
+            @Value("${app.security.user-details-cache.maximum-size:10000}") long maximumSize,
+            @Value("${app.security.user-details-cache.time-to-live:PT1M}") Duration timeToLive,
+            MeterRegistry meterRegistry
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "user-details");
+    }
+
+    // Concurrent misses for the same email wait for a single load; an unknown email (null) is not cached
+    public UserSnapshot get(String email, Function<String, UserSnapshot> loader) {
+        return cache.get(key(email), key -> loader.apply(email));
+    }
+
+    public void evict(String email) {
+        String key = key(email);
+        cache.invalidate(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(key);
+                }
+            });
+        }
+    }
+
+    private static String key(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,50 +1,75 @@
 package com.recn.platform.auth.security;
 
-import com.recn.platform.auth.entity.Permission;
-import com.recn.platform.auth.entity.Role;
 import com.recn.platform.auth.entity.User;
-import lombok.AllArgsConstructor;
-import lombok.Getter;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
-@Getter
-@AllArgsConstructor
 public class UserPrincipal implements UserDetails {
 
-    private final User user;
+    private final String userId;
+    private final String email;
+    private final String passwordHash;
+    private final String userType;
+    private final boolean active;
+    private final LocalDateTime accountLockedUntil;
+    private final AuthoritySet authoritySet;
+
+    public UserPrincipal(User user, AuthoritySet authoritySet) {
+        this.userId = user.getUserId();
+        this.email = user.getEmail();
+        this.passwordHash = user.getPasswordHash();
+        this.userType = user.getUserType().name();
+        this.active = Boolean.TRUE.equals(user.getIsActive());
+        this.accountLockedUntil = user.getAccountLockedUntil();
+        this.authoritySet = authoritySet;
+    }
 
-    @Override
-    public Collection<? extends GrantedAuthority> getAuthorities() {
-        Set<GrantedAuthority> authorities = new HashSet<>();
+    public UserPrincipal(UserSnapshot snapshot, AuthoritySet authoritySet) {
+        this.userId = snapshot.userId();
+        this.email = snapshot.email();
+        this.passwordHash = snapshot.passwordHash();
+        this.userType = snapshot.userType();
+        this.active = snapshot.active();
+        this.accountLockedUntil = snapshot.accountLockedUntil();
+        this.authoritySet = authoritySet;
+    }
+
+    private UserPrincipal(String userId, String email, String userType, AuthoritySet authoritySet) {
+        this.userId = userId;
+        this.email = email;
+        this.passwordHash = null;
+        this.userType = userType;
+        this.active = true;
+        this.accountLockedUntil = null;
+        this.authoritySet = authoritySet;
+    }
 
-        // Add roles
-        for (Role role : user.getRoles()) {
-            authorities.add(new SimpleGrantedAuthority("ROLE_" + role.getRoleName()));
-            
-            // Add permissions from roles
-            for (Permission permission : role.getPermissions()) {
-                authorities.add(new SimpleGrantedAuthority(permission.getPermissionName()));
-            }
-        }
+    /**
+     * Rebuilds a principal from verified access token claims, without touching the database.
+     * The result carries no password hash; account status is enforced by {@link TokenEpochRegistry}.
+     */
+    public static UserPrincipal fromClaims(String email, String userId, String userType, AuthoritySet authoritySet) {
+        return new UserPrincipal(userId, email, userType, authoritySet);
+    }
 
-        return authorities;
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authoritySet.getAuthorities();
     }
 
     @Override
     public String getPassword() {
-        return user.getPasswordHash();
+        return passwordHash;
     }
 
     @Override
     public String getUsername() {
-        return user.getEmail();
+        return email;
     }
 
     @Override
@@ -54,7 +79,7 @@ public class UserPrincipal implements UserDetails {
 
     @Override
     public boolean isAccountNonLocked() {
-        return !user.isAccountLocked();
+        return accountLockedUntil == null || !accountLockedUntil.isAfter(LocalDateTime.now());
     }
 
     @Override
@@ -64,28 +89,27 @@ public class UserPrincipal implements UserDetails {
 
     @Override
     public boolean isEnabled() {
-        return user.getIsActive();
+        return active;
     }
 
     public String getUserId() {
-        return user.getUserId();
+        return userId;
     }
 
     public String getUserType() {
-        return user.getUserType().name();
+        return userType;
+    }
+
+    // Sorted authority names, as written to the roles claim
+    public List<String> getAuthorityNames() {
+        return authoritySet.getAuthorityNames();
     }
 
     public Set<String> getRoleNames() {
-        return user.getRoles().stream()
-                .map(Role::getRoleName)
-                .collect(Collectors.toSet());
+        return authoritySet.getRoleNames();
     }
 
     public Set<String> getPermissionNames() {
-        return user.getRoles().stream()
-                .flatMap(role -> role.getPermissions().stream())
-                .map(Permission::getPermissionName)
-                .collect(Collectors.toSet());
+        return authoritySet.getPermissionNames();
     }
 }
-
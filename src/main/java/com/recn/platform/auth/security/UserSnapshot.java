@@ -0,0 +1,39 @@
+package com.recn.platform.auth.security;
+
+import com.recn.platform.auth.entity.Role;
+import com.recn.platform.auth.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Immutable copy of the user fields authentication needs, as held by {@link UserDetailsCache}.
+ * Role IDs are kept in ascending order; authorities are resolved from them per lookup.
+ */
+public record UserSnapshot(
+        String userId,
+        String email,
+        String passwordHash,
+        String userType,
+        boolean active,
+        LocalDateTime accountLockedUntil,
+        List<Integer> roleIds
+) {
+
+    public static UserSnapshot of(User user) {
+        TreeSet<Integer> roleIds = new TreeSet<>();
+        for (Role role : user.getRoles()) {
+            roleIds.add(role.getRoleId());
+        }
+        return new UserSnapshot(
+                user.getUserId(),
+                user.getEmail(),
+                user.getPasswordHash(),
+                user.getUserType().name(),
+                Boolean.TRUE.equals(user.getIsActive()),
+                user.getAccountLockedUntil(),
+                List.copyOf(roleIds)
+        );
+    }
+}
@@ -0,0 +1,46 @@
+package com.recn.platform.auth.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * A JWT whose signature and expiry have been checked once.
+ * All claim accessors read from the already-parsed payload.
+ */
+@Getter
+public class VerifiedToken {
+
+    private final Claims claims;
+    private final String jti;
+    private final String subject;
+    private final String userId;
+    private final String userType;
+    private final int tokenEpoch;
+    private final Date issuedAt;
+    private final Date expiration;
+
+    public VerifiedToken(Claims claims) {
+        this.claims = claims;
+        this.jti = claims.getId();
+        this.subject = claims.getSubject();
+        this.userId = claims.get("userId", String.class);
+        this.userType = claims.get("userType", String.class);
+        Integer epoch = claims.get("epoch", Integer.class);
+        this.tokenEpoch = epoch == null ? 0 : epoch;
+        this.issuedAt = claims.getIssuedAt();
+        this.expiration = claims.getExpiration();
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<String> getAuthorities() {
+        Object roles = claims.get("roles");
+        return roles instanceof List<?> ? (List<String>) roles : List.of();
+    }
+
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+}
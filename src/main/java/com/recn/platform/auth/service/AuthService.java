@@ -10,13 +10,25 @@ import com.recn.platform.auth.entity.User;
 import com.recn.platform.auth.enums.UserType;
 import com.recn.platform.auth.exception.AccountLockedException;
 import com.recn.platform.auth.exception.InvalidTokenException;
+import com.recn.platform.auth.exception.PasswordMismatchException;
 import com.recn.platform.auth.exception.ResourceAlreadyExistsException;
 import com.recn.platform.auth.exception.ResourceNotFoundException;
+import com.recn.platform.auth.exception.TooManyAttemptsException;
+import com.recn.platform.auth.monitoring.AuthMetrics;
 import com.recn.platform.auth.repository.RefreshTokenRepository;
 import com.recn.platform.auth.repository.RoleRepository;
 import com.recn.platform.auth.repository.UserRepository;
+import com.recn.platform.auth.security.AccessTokenDenylist;
+import com.recn.platform.auth.security.AuthorityRegistry;
+import com.recn.platform.auth.security.ClientIp;
 import com.recn.platform.auth.security.JwtUtil;
+import com.recn.platform.auth.security.LoginAttemptTracker;
+import com.recn.platform.auth.security.RbacSnapshot;
+import com.recn.platform.auth.security.RefreshTokenCodec;
+import com.recn.platform.auth.security.TokenEpochRegistry;
+import com.recn.platform.auth.security.UserDetailsCache;
 import com.recn.platform.auth.security.UserPrincipal;
+import com.recn.platform.auth.security.VerifiedToken;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,7 +41,9 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
@@ -44,7 +58,17 @@ public class AuthService {
     private final RefreshTokenRepository refreshTokenRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final RefreshTokenCodec refreshTokenCodec;
     private final AuthenticationManager authenticationManager;
+    private final TokenEpochRegistry tokenEpochRegistry;
+    private final AuthorityRegistry authorityRegistry;
+    private final RbacService rbacService;
+    private final LoginAttemptTracker loginAttemptTracker;
+    private final LastLoginRecorder lastLoginRecorder;
+    private final AccessTokenDenylist accessTokenDenylist;
+    private final UserDetailsCache userDetailsCache;
+    private final AuthMetrics authMetrics;
+    private final TransactionTemplate transactionTemplate;
 
     @Value("${app.security.max-failed-attempts}")
     private int maxFailedAttempts;
@@ -52,17 +76,23 @@ public class AuthService {
     @Value("${app.security.lock-duration-minutes}")
     private int lockDurationMinutes;
 
-    @Transactional
+    @Value("${app.security.login-attempts.max-failed-per-ip:50}")
+    private int maxFailedAttemptsPerIp;
+
+    @Value("${app.security.login-attempts.window:PT15M}")
+    private Duration loginAttemptWindow;
+
+    // Not @Transactional: the hash runs with no connection borrowed, and only the inserts share a transaction
     public AuthResponse register(RegisterRequest request) {
         log.info("Registering new user with email: {}", request.getEmail());
 
         // Validate passwords match
         if (!request.getPassword().equals(request.getConfirmPassword())) {
-            throw new IllegalArgumentException("Passwords do not match");
+            throw new PasswordMismatchException("Passwords do not match");
         }
 
         // Check if user already exists
-        if (userRepository.existsByEmail(request.getEmail())) {
+        if (authMetrics.time("register", "lookup", () -> userRepository.existsByEmail(request.getEmail()))) {
             throw new ResourceAlreadyExistsException("User already exists with email: " + request.getEmail());
         }
 
@@ -72,11 +102,22 @@ public class AuthService {
             userType = UserType.STUDENT; // Temporary default, will be updated
         }
 
+        String passwordHash = authMetrics.time("register", "password",
+                () -> passwordEncoder.encode(request.getPassword()));
+
+        UserType registeredType = userType;
+        return transactionTemplate.execute(status -> {
+            authMetrics.timeCommit("register");
+            return createUser(request, registeredType, passwordHash);
+        });
+    }
+
+    private AuthResponse createUser(RegisterRequest request, UserType userType, String passwordHash) {
         // Create new user
         User user = User.builder()
                 .email(request.getEmail())
                 .phoneNumber(request.getPhoneNumber())
-                .passwordHash(passwordEncoder.encode(request.getPassword()))
+                .passwordHash(passwordHash)
                 .userType(userType)
                 .isVerified(false)
                 .isActive(true)
@@ -94,9 +135,11 @@ public class AuthService {
         log.info("User registered successfully with ID: {}", user.getUserId());
 
         // Generate tokens
-        UserPrincipal userPrincipal = new UserPrincipal(user);
-        String accessToken = jwtUtil.generateAccessToken(userPrincipal, user.getUserId(), user.getUserType().name());
-        String refreshToken = jwtUtil.generateRefreshToken(user.getEmail());
+        UserPrincipal userPrincipal = new UserPrincipal(user, authorityRegistry.forUser(user));
+        User registered = user;
+        String accessToken = authMetrics.time("register", "token", () -> jwtUtil.generateAccessToken(
+                userPrincipal, registered.getUserId(), registered.getUserType().name(), registered.getTokenEpoch()));
+        String refreshToken = refreshTokenCodec.generate();
 
         // Save refresh token
         saveRefreshToken(user, refreshToken, null);
@@ -119,17 +162,37 @@ public class AuthService {
         roles.add(newRole);
         user.setRoles(roles);
         
-        userRepository.save(user);
+        // Tokens issued before the change still carry the old roles
+        tokenEpochRegistry.bump(user);
+        // No save(): the user is managed and flushed by dirty checking, while merge() would load the
+        // role behind the reference from getDefaultRoleForUserType
+        userDetailsCache.evict(user.getEmail());
         log.info("User type updated successfully");
     }
 
-    @Transactional
+    // Failed attempts are counted in memory; only a lock transition is written. Not @Transactional: the
+    // lookup and the writes each take a short transaction, and the password check holds no connection
     public AuthResponse login(LoginRequest request, HttpServletRequest httpRequest) {
         log.info("Login attempt for user: {}", request.getEmail());
 
-        // Find user
-        User user = userRepository.findByEmailWithRolesAndPermissions(request.getEmail())
-                .orElseThrow(() -> new UsernameNotFoundException("Invalid email or password"));
+        // Keyed on the trusted-proxy resolution (see ClientIp): a client-chosen X-Forwarded-For would let
+        // an attacker rotate past the limit, or lock out someone else's address
+        String ipKey = LoginAttemptTracker.ipKey(ClientIp.resolve(httpRequest));
+        if (loginAttemptTracker.failures(ipKey) >= maxFailedAttemptsPerIp) {
+            log.warn("Too many failed logins from {}", ipKey);
+            throw new TooManyAttemptsException(
+                    "Too many failed login attempts. Please try again later.",
+                    loginAttemptWindow.toSeconds()
+            );
+        }
+
+        // Find user; detached from here on, so writes below re-read it
+        User user = authMetrics.time("login", "lookup",
+                () -> userRepository.findWithRolesByEmail(request.getEmail()).orElse(null));
+        if (user == null) {
+            loginAttemptTracker.recordFailure(ipKey);
+            throw new UsernameNotFoundException("Invalid email or password");
+        }
 
         // Check if account is locked
         if (user.isAccountLocked()) {
@@ -140,33 +203,38 @@ public class AuthService {
             );
         }
 
+        String emailKey = LoginAttemptTracker.emailKey(request.getEmail());
         try {
-            // Authenticate
-            Authentication authentication = authenticationManager.authenticate(
+            // Authenticate: password check, including the user details lookup and a possible re-hash
+            Authentication authentication = authMetrics.time("login", "password", () -> authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
-            );
+            ));
 
-            // Reset failed attempts on successful login
-            if (user.getFailedLoginAttempts() > 0) {
-                user.resetFailedAttempts();
-            }
-            
-            user.setLastLogin(LocalDateTime.now());
-            userRepository.save(user);
+            loginAttemptTracker.reset(emailKey);
+            lastLoginRecorder.record(user.getUserId(), LocalDateTime.now());
 
             // Generate tokens
             UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-            String accessToken = jwtUtil.generateAccessToken(userPrincipal, user.getUserId(), user.getUserType().name());
-            String refreshToken = jwtUtil.generateRefreshToken(user.getEmail());
-
-            // Save refresh token with request details
-            saveRefreshToken(user, refreshToken, httpRequest);
+            String accessToken = authMetrics.time("login", "token", () -> jwtUtil.generateAccessToken(
+                    userPrincipal, user.getUserId(), user.getUserType().name(), user.getTokenEpoch()));
+            String refreshToken = refreshTokenCodec.generate();
+
+            transactionTemplate.executeWithoutResult(status -> {
+                authMetrics.timeCommit("login");
+                // Reset failed attempts on successful login; otherwise the users row is not written
+                if (user.getFailedLoginAttempts() > 0) {
+                    userRepository.findById(user.getUserId()).ifPresent(User::resetFailedAttempts);
+                }
+                // Save refresh token with request details
+                saveRefreshToken(user, refreshToken, httpRequest);
+            });
 
             log.info("User logged in successfully: {}", request.getEmail());
             return buildAuthResponse(user, accessToken, refreshToken, userPrincipal);
 
         } catch (BadCredentialsException e) {
-            handleFailedLogin(user);
+            loginAttemptTracker.recordFailure(ipKey);
+            handleFailedLogin(user.getUserId(), loginAttemptTracker.recordFailure(emailKey), emailKey);
             throw new BadCredentialsException("Invalid email or password");
         }
     }
@@ -174,42 +242,39 @@ public class AuthService {
     @Transactional
     public AuthResponse refreshToken(RefreshTokenRequest request) {
         log.info("Refreshing token");
-
-        String refreshTokenValue = request.getRefreshToken();
-
-        // Validate refresh token
-        if (!jwtUtil.validateToken(refreshTokenValue)) {
-            throw new InvalidTokenException("Invalid or expired refresh token");
+        authMetrics.timeCommit("refresh");
+
+        // Opaque token: claimed by digest, nothing to verify cryptographically. The conditional
+        // UPDATE is the validity check and the race check in one statement: InnoDB serializes
+        // concurrent updates of the row, so only one refresh of the same token sees a row count of 1
+        byte[] tokenHash = refreshTokenCodec.hash(request.getRefreshToken());
+        if (authMetrics.time("refresh", "claim",
+                () -> refreshTokenRepository.revokeIfValid(tokenHash, LocalDateTime.now())) == 0) {
+            authMetrics.invalidToken("refresh", "invalid");
+            throw new InvalidTokenException("Refresh token is invalid, expired or already used");
         }
 
-        // Find refresh token in database
-        RefreshToken refreshToken = refreshTokenRepository.findByToken(refreshTokenValue)
-                .orElseThrow(() -> new InvalidTokenException("Refresh token not found"));
-
-        // Check if token is valid
-        if (!refreshToken.isValid()) {
-            throw new InvalidTokenException("Refresh token is revoked or expired");
+        // Get user (with roles) through the token we just claimed
+        User user = authMetrics.time("refresh", "lookup", () -> refreshTokenRepository.findByTokenHash(tokenHash)
+                .map(RefreshToken::getUser)
+                .orElseThrow(() -> new InvalidTokenException("Refresh token not found")));
+        // Deactivation revokes refresh tokens; this also covers tokens issued while it was in flight
+        if (!Boolean.TRUE.equals(user.getIsActive())) {
+            authMetrics.invalidToken("refresh", "revoked");
+            throw new InvalidTokenException("User account is deactivated");
         }
-
-        // Get user
-        User user = refreshToken.getUser();
-        UserPrincipal userPrincipal = new UserPrincipal(user);
+        UserPrincipal userPrincipal = new UserPrincipal(user, authorityRegistry.forUser(user));
 
         // Generate new access token
-        String newAccessToken = jwtUtil.generateAccessToken(
+        String newAccessToken = authMetrics.time("refresh", "token", () -> jwtUtil.generateAccessToken(
                 userPrincipal, 
                 user.getUserId(), 
-                user.getUserType().name()
-        );
+                user.getUserType().name(),
+                user.getTokenEpoch()
+        ));
 
-        // Optionally generate new refresh token (rotation)
-        String newRefreshToken = jwtUtil.generateRefreshToken(user.getEmail());
-        
-        // Revoke old refresh token
-        refreshToken.setIsRevoked(true);
-        refreshTokenRepository.save(refreshToken);
-        
-        // Save new refresh token
+        // Rotate: the new token is inserted in the commit-time flush, batched with any other writes
+        String newRefreshToken = refreshTokenCodec.generate();
         saveRefreshToken(user, newRefreshToken, null);
 
         log.info("Token refreshed successfully for user: {}", user.getEmail());
@@ -217,9 +282,23 @@ public class AuthService {
     }
 
     @Transactional
-    public void logout(String userId) {
+    public void logout(String userId, String accessToken) {
         log.info("Logging out user: {}", userId);
         refreshTokenRepository.revokeAllUserTokens(userId);
+
+        // The presented access token stops working now instead of at its exp
+        VerifiedToken verified = jwtUtil.verify(accessToken);
+        accessTokenDenylist.revoke(verified.getJti(), verified.getExpiration());
+    }
+
+    // Log out everywhere: one epoch bump invalidates every access token, plus all refresh tokens
+    @Transactional
+    public void logoutEverywhere(String userId) {
+        log.info("Logging out user everywhere: {}", userId);
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
+        tokenEpochRegistry.bump(user);
+        refreshTokenRepository.revokeAllUserTokens(userId);
     }
 
     @Transactional
@@ -232,48 +311,58 @@ public class AuthService {
         user.setProfileCompleted(true);
         user.setProfileServiceId(profileServiceId);
         userRepository.save(user);
+        userDetailsCache.evict(user.getEmail());
         
         log.info("Profile marked as completed for user: {}", userId);
     }
 
-    private void handleFailedLogin(User user) {
-        user.incrementFailedAttempts();
-        
-        if (user.getFailedLoginAttempts() >= maxFailedAttempts) {
-            user.lockAccount(lockDurationMinutes);
-            log.warn("Account locked for user: {} after {} failed attempts", 
-                    user.getEmail(), maxFailedAttempts);
+    // Decided in memory; the user row is only written when the account becomes locked
+    private void handleFailedLogin(String userId, int failedAttempts, String emailKey) {
+        if (failedAttempts < maxFailedAttempts) {
+            return;
         }
-        
-        userRepository.save(user);
+
+        User user = transactionTemplate.execute(status -> userRepository.findById(userId)
+                .map(locked -> {
+                    locked.setFailedLoginAttempts(failedAttempts);
+                    locked.lockAccount(lockDurationMinutes);
+                    return locked;
+                })
+                .orElse(null));
+        if (user == null) {
+            return;
+        }
+        userDetailsCache.evict(user.getEmail());
+        loginAttemptTracker.reset(emailKey);
+        authMetrics.lockout();
+
+        log.warn("Account locked for user: {} after {} failed attempts", 
+                user.getEmail(), failedAttempts);
     }
 
     private void saveRefreshToken(User user, String token, HttpServletRequest request) {
         RefreshToken refreshToken = RefreshToken.builder()
                 .user(user)
-                .token(token)
+                .tokenHash(refreshTokenCodec.hash(token))
                 .expiresAt(LocalDateTime.now().plusSeconds(jwtUtil.getRefreshTokenExpiration() / 1000))
                 .isRevoked(false)
                 .build();
 
         if (request != null) {
-            refreshToken.setIpAddress(getClientIp(request));
+            refreshToken.setIpAddress(ClientIp.resolve(request));
             refreshToken.setUserAgent(request.getHeader("User-Agent"));
         }
 
         refreshTokenRepository.save(refreshToken);
     }
 
+    // Resolved from the in-memory RBAC snapshot; the returned reference is not loaded from the database
     private Role getDefaultRoleForUserType(UserType userType) {
-        String roleName = switch (userType) {
-            case CAMPUS -> "CAMPUS_ADMIN";
-            case STUDENT -> "STUDENT";
-            case COMPANY -> "COMPANY_RECRUITER";
-            case ADMIN -> "SUPER_ADMIN";
-        };
-
-        return roleRepository.findByRoleName(roleName)
-                .orElseThrow(() -> new ResourceNotFoundException("Default role not found: " + roleName));
+        Integer roleId = rbacService.getSnapshot().defaultRoleId(userType);
+        if (roleId == null) {
+            throw new ResourceNotFoundException("Default role not found: " + RbacSnapshot.defaultRoleName(userType));
+        }
+        return roleRepository.getReferenceById(roleId);
     }
 
     private AuthResponse buildAuthResponse(User user, String accessToken, String refreshToken, UserPrincipal userPrincipal) {
@@ -302,13 +391,5 @@ public class AuthService {
             case ADMIN -> "admin-service";
         };
     }
-
-    private String getClientIp(HttpServletRequest request) {
-        String xfHeader = request.getHeader("X-Forwarded-For");
-        if (xfHeader == null || xfHeader.isEmpty() || "unknown".equalsIgnoreCase(xfHeader)) {
-            return request.getRemoteAddr();
-        }
-        return xfHeader.split(",")[0];
-    }
 }
 
@@ -76,6 +76,7 @@ public class CompanyService {
 
     @Transactional(readOnly = true)
     public CompanyRegistrationResponse getCompanyById(String companyId) {
+        // Served from the second-level cache (company and key-people collection) once warm
         Company company = companyRepository.findById(companyId)
                 .orElseThrow(() -> new ResourceNotFoundException("Company not found with ID: " + companyId));
         return mapToResponse(company);
@@ -83,7 +84,7 @@ public class CompanyService {
 
     @Transactional
     public CompanyRegistrationResponse updateCompany(String companyId, String userId, CompanyRegistrationRequest request) {
-        Company company = companyRepository.findById(companyId)
+        Company company = companyRepository.findWithKeyPeopleByCompanyId(companyId)
                 .orElseThrow(() -> new ResourceNotFoundException("Company not found with ID: " + companyId));
 
         // Verify ownership
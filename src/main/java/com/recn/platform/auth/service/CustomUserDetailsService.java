@@ -2,10 +2,14 @@ package com.recn.platform.auth.service;
 
 import com.recn.platform.auth.entity.User;
 import com.recn.platform.auth.repository.UserRepository;
+import com.recn.platform.auth.security.AuthorityRegistry;
+import com.recn.platform.auth.security.UserDetailsCache;
 import com.recn.platform.auth.security.UserPrincipal;
+import com.recn.platform.auth.security.UserSnapshot;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -14,19 +18,45 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final AuthorityRegistry authorityRegistry;
+    private final UserDetailsCache userDetailsCache;
 
+    // Served from the snapshot cache; no transaction, so a hit does not borrow a connection.
+    // Authorities are resolved per call and follow RBAC reloads without evicting snapshots
     @Override
-    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        UserSnapshot snapshot = userDetailsCache.get(email, this::loadSnapshot);
+        if (snapshot == null) {
+            throw new UsernameNotFoundException("User not found with email: " + email);
+        }
+
+        return new UserPrincipal(snapshot, authorityRegistry.forRoleIds(snapshot.roleIds()));
+    }
+
+    private UserSnapshot loadSnapshot(String email) {
         log.debug("Loading user by email: {}", email);
-        
-        User user = userRepository.findByEmailWithRolesAndPermissions(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+        return userRepository.findWithRolesByEmail(email)
+                .map(UserSnapshot::of)
+                .orElse(null);
+    }
 
-        return new UserPrincipal(user);
+    // Called by the authentication provider when the stored hash uses outdated parameters.
+    // Commits on its own: login holds no transaction during the password check and re-reads the user
+    // before any later write, so the new hash is kept.
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPasswordHash) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + userDetails.getUsername()));
+
+        user.setPasswordHash(newPasswordHash);
+        userRepository.save(user);
+        userDetailsCache.evict(user.getEmail());
+        log.info("Re-hashed password for user: {}", user.getUserId());
+
+        return new UserPrincipal(user, authorityRegistry.forUser(user));
     }
 }
-
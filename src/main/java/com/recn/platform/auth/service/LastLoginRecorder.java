@@ -0,0 +1,92 @@
+package com.recn.platform.auth.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind buffer for users.last_login.
+ *
+ * Logins only record the timestamp in memory, keeping the latest per user; a scheduled flush writes
+ * the buffer as one JDBC batch, and whatever is left is drained on shutdown. A failed flush puts the
+ * entries back for the next attempt.
+ */
+@Component
+@Slf4j
+public class LastLoginRecorder {
+
+    // Never moves last_login backwards when several nodes flush the same user
+    private static final String UPDATE_SQL =
+            "UPDATE users SET last_login = ? WHERE user_id = UUID_TO_BIN(?) AND (last_login IS NULL OR last_login < ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final Counter flushedCounter;
+
+    @Value("${app.last-login.batch-size:500}")
+    private int batchSize;
+
+    public LastLoginRecorder(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.flushedCounter = Counter.builder("auth.last-login.flushed")
+                .description("last_login updates written to the database")
+                .register(meterRegistry);
+        Gauge.builder("auth.last-login.pending", pending, Map::size)
+                .description("last_login updates waiting to be flushed")
+                .register(meterRegistry);
+    }
+
+    public void record(String userId, LocalDateTime loginTime) {
+        pending.merge(userId, loginTime, (previous, current) -> current.isAfter(previous) ? current : previous);
+    }
+
+    @Scheduled(
+            fixedDelayString = "${app.last-login.flush-interval:PT5S}",
+            initialDelayString = "${app.last-login.flush-interval:PT5S}"
+    )
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // Take entries out only if unchanged; a newer login recorded meanwhile stays for the next flush
+        List<Object[]> batch = new ArrayList<>();
+        for (Map.Entry<String, LocalDateTime> entry : pending.entrySet()) {
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                Timestamp loginTime = Timestamp.valueOf(entry.getValue());
+                batch.add(new Object[] {loginTime, entry.getKey(), loginTime});
+            }
+        }
+
+        try {
+            for (int from = 0; from < batch.size(); from += batchSize) {
+                jdbcTemplate.batchUpdate(UPDATE_SQL, batch.subList(from, Math.min(from + batchSize, batch.size())));
+            }
+            flushedCounter.increment(batch.size());
+            log.debug("Flushed {} last-login timestamps", batch.size());
+        } catch (RuntimeException e) {
+            for (Object[] row : batch) {
+                record((String) row[1], ((Timestamp) row[0]).toLocalDateTime());
+            }
+            log.warn("Failed to flush {} last-login timestamps, will retry: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void drain() {
+        flush();
+    }
+}
@@ -0,0 +1,9 @@
+package com.recn.platform.auth.service;
+
+import com.recn.platform.auth.security.RbacSnapshot;
+
+/**
+ * Published after a new RBAC snapshot replaced the previous one.
+ */
+public record RbacReloadedEvent(RbacSnapshot snapshot) {
+}
@@ -0,0 +1,99 @@
+package com.recn.platform.auth.service;
+
+import com.recn.platform.auth.entity.Permission;
+import com.recn.platform.auth.entity.Role;
+import com.recn.platform.auth.repository.PermissionRepository;
+import com.recn.platform.auth.repository.RoleRepository;
+import com.recn.platform.auth.security.RbacSnapshot;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Holds the current {@link RbacSnapshot}. It is built once at startup and swapped atomically
+ * when an admin triggers a reload or the periodic fingerprint check sees a change.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RbacService {
+
+    private final RoleRepository roleRepository;
+    private final PermissionRepository permissionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final AtomicReference<RbacSnapshot> snapshot = new AtomicReference<>(RbacSnapshot.EMPTY);
+    // A lock rather than synchronized: the reload runs JDBC, which would pin a virtual thread's carrier
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+
+    public RbacSnapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    @Transactional(readOnly = true)
+    public RbacSnapshot reload() {
+        reloadLock.lock();
+        try {
+            String version = roleRepository.findRbacFingerprint();
+            evictCachedRbacEntities();
+
+            RbacSnapshot.Builder builder = new RbacSnapshot.Builder();
+            for (Permission permission : permissionRepository.findAll()) {
+                builder.permission(permission.getPermissionName());
+            }
+            for (Object[] row : roleRepository.findRolePermissionRows()) {
+                Integer roleId = (Integer) row[0];
+                builder.role(roleId, (String) row[1]);
+                if (row[2] != null) {
+                    builder.grant(roleId, (String) row[2]);
+                }
+            }
+
+            RbacSnapshot loaded = builder.build(version);
+            snapshot.set(loaded);
+            eventPublisher.publishEvent(new RbacReloadedEvent(loaded));
+
+            log.info("RBAC snapshot loaded: {} roles, {} permissions, version {}",
+                    loaded.roleCount(), loaded.permissionCount(), version);
+            return loaded;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    // Role/permission rows may have been edited directly in the database; drop their cache regions
+    private void evictCachedRbacEntities() {
+        org.hibernate.Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(Role.class);
+        cache.evictEntityData(Permission.class);
+        cache.evictCollectionData(Role.class.getName() + ".permissions");
+    }
+
+    // Reload when roles, permissions or their mapping changed behind our back
+    @Scheduled(
+            fixedDelayString = "${app.rbac.version-check-interval:PT1M}",
+            initialDelayString = "${app.rbac.version-check-interval:PT1M}"
+    )
+    public void checkVersion() {
+        String version = roleRepository.findRbacFingerprint();
+        if (!version.equals(snapshot.get().getVersion())) {
+            log.info("RBAC fingerprint changed, reloading snapshot");
+            reload();
+        }
+    }
+}
@@ -1,17 +1,33 @@
 package com.recn.platform.auth.service;
 
+import com.recn.platform.auth.dto.response.CursorPage;
 import com.recn.platform.auth.dto.response.UserResponse;
 import com.recn.platform.auth.entity.Role;
 import com.recn.platform.auth.entity.User;
 import com.recn.platform.auth.enums.UserType;
+import com.recn.platform.auth.exception.InvalidCursorException;
 import com.recn.platform.auth.exception.ResourceNotFoundException;
+import com.recn.platform.auth.repository.RefreshTokenRepository;
 import com.recn.platform.auth.repository.UserRepository;
+import com.recn.platform.auth.repository.projection.UserRow;
+import com.recn.platform.auth.repository.projection.UserView;
+import com.recn.platform.auth.security.TokenEpochRegistry;
+import com.recn.platform.auth.security.UserDetailsCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,41 +35,87 @@ import java.util.stream.Collectors;
 @Slf4j
 public class UserService {
 
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final UserRepository userRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenEpochRegistry tokenEpochRegistry;
+    private final UserDetailsCache userDetailsCache;
 
+    // Single aggregating query; no User entity or role graph is loaded
     @Transactional(readOnly = true)
     public UserResponse getUserById(String userId) {
-        User user = userRepository.findById(userId)
+        UserView user = userRepository.findViewById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
         return mapToUserResponse(user);
     }
 
     @Transactional(readOnly = true)
     public UserResponse getUserByEmail(String email) {
-        User user = userRepository.findByEmail(email)
+        UserView user = userRepository.findViewByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
         return mapToUserResponse(user);
     }
 
     @Transactional(readOnly = true)
-    public List<UserResponse> getAllUsers() {
-        return userRepository.findAll().stream()
-                .map(this::mapToUserResponse)
-                .collect(Collectors.toList());
+    public CursorPage<UserResponse> getAllUsers(UserType userType, Boolean isActive, Boolean isVerified,
+                                                String cursor, int size) {
+        return listUsers(userType, isActive, isVerified, cursor, size);
     }
 
     @Transactional(readOnly = true)
-    public List<UserResponse> getUsersByType(UserType userType) {
-        return userRepository.findByUserType(userType).stream()
-                .map(this::mapToUserResponse)
-                .collect(Collectors.toList());
+    public CursorPage<UserResponse> getUsersByType(UserType userType, String cursor, int size) {
+        return listUsers(userType, null, null, cursor, size);
     }
 
     @Transactional(readOnly = true)
-    public List<UserResponse> getActiveUsers() {
-        return userRepository.findByIsActive(true).stream()
-                .map(this::mapToUserResponse)
-                .collect(Collectors.toList());
+    public CursorPage<UserResponse> getActiveUsers(String cursor, int size) {
+        return listUsers(null, true, null, cursor, size);
+    }
+
+    // Keyset page on (createdAt, userId): one indexed scalar query plus one roles query per page
+    private CursorPage<UserResponse> listUsers(UserType userType, Boolean isActive, Boolean isVerified,
+                                               String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        UserCursor after = UserCursor.decode(cursor);
+
+        List<UserRow> rows = userRepository.findPage(
+                userType, isActive, isVerified,
+                after == null ? null : after.createdAt(),
+                after == null ? null : after.userId(),
+                Limit.of(pageSize + 1)
+        );
+
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+
+        Map<String, Set<String>> rolesByUser = findRoleNames(rows);
+        List<UserResponse> items = new ArrayList<>(rows.size());
+        for (UserRow row : rows) {
+            items.add(mapToUserResponse(row, rolesByUser.getOrDefault(row.userId(), Set.of())));
+        }
+
+        UserRow last = rows.isEmpty() ? null : rows.get(rows.size() - 1);
+        return CursorPage.<UserResponse>builder()
+                .items(items)
+                .size(items.size())
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? new UserCursor(last.createdAt(), last.userId()).encode() : null)
+                .build();
+    }
+
+    private Map<String, Set<String>> findRoleNames(List<UserRow> rows) {
+        if (rows.isEmpty()) {
+            return Map.of();
+        }
+        List<String> userIds = rows.stream().map(UserRow::userId).toList();
+        Map<String, Set<String>> rolesByUser = new HashMap<>();
+        for (Object[] pair : userRepository.findRoleNamesByUserIds(userIds)) {
+            rolesByUser.computeIfAbsent((String) pair[0], id -> new HashSet<>()).add((String) pair[1]);
+        }
+        return rolesByUser;
     }
 
     @Transactional
@@ -62,7 +124,13 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
         
         user.setIsActive(isActive);
+        if (!isActive) {
+            // The epoch bump stops issued access tokens; revoking refresh tokens stops new ones
+            tokenEpochRegistry.bump(user);
+            refreshTokenRepository.revokeAllUserTokens(userId);
+        }
         user = userRepository.save(user);
+        userDetailsCache.evict(user.getEmail());
         
         log.info("User status updated for ID: {}, isActive: {}", userId, isActive);
         return mapToUserResponse(user);
@@ -75,6 +143,7 @@ public class UserService {
         
         user.setIsVerified(true);
         user = userRepository.save(user);
+        userDetailsCache.evict(user.getEmail());
         
         log.info("User verified: {}", userId);
         return mapToUserResponse(user);
@@ -82,13 +151,47 @@ public class UserService {
 
     @Transactional
     public void deleteUser(String userId) {
-        if (!userRepository.existsById(userId)) {
-            throw new ResourceNotFoundException("User not found with ID: " + userId);
-        }
-        userRepository.deleteById(userId);
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
+        // The row cannot carry an epoch bump once deleted; a tombstone tells every node instead
+        tokenEpochRegistry.markDeleted(userId);
+        userRepository.delete(user);
+        userDetailsCache.evict(user.getEmail());
         log.info("User deleted: {}", userId);
     }
 
+    private UserResponse mapToUserResponse(UserView view) {
+        return UserResponse.builder()
+                .userId(view.userId())
+                .email(view.email())
+                .userType(view.userType())
+                .isVerified(view.isVerified())
+                .isActive(view.isActive())
+                .lastLogin(view.lastLogin())
+                .failedLoginAttempts(view.failedLoginAttempts())
+                .accountLockedUntil(view.accountLockedUntil())
+                .roles(view.roles())
+                .createdAt(view.createdAt())
+                .updatedAt(view.updatedAt())
+                .build();
+    }
+
+    private UserResponse mapToUserResponse(UserRow row, Set<String> roles) {
+        return UserResponse.builder()
+                .userId(row.userId())
+                .email(row.email())
+                .userType(row.userType())
+                .isVerified(row.isVerified())
+                .isActive(row.isActive())
+                .lastLogin(row.lastLogin())
+                .failedLoginAttempts(row.failedLoginAttempts())
+                .accountLockedUntil(row.accountLockedUntil())
+                .roles(roles)
+                .createdAt(row.createdAt())
+                .updatedAt(row.updatedAt())
+                .build();
+    }
+
     private UserResponse mapToUserResponse(User user) {
         return UserResponse.builder()
                 .userId(user.getUserId())
@@ -106,5 +209,26 @@ public class UserService {
                 .updatedAt(user.getUpdatedAt())
                 .build();
     }
-}
 
+    // Position after the last row of a page, handed to clients as base64url("createdAt|userId")
+    private record UserCursor(LocalDateTime createdAt, String userId) {
+
+        String encode() {
+            String raw = createdAt + "|" + userId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static UserCursor decode(String cursor) {
+            if (cursor == null || cursor.isBlank()) {
+                return null;
+            }
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                return new UserCursor(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+            } catch (RuntimeException e) {
+                throw new InvalidCursorException("Invalid cursor: " + e.getMessage());
+            }
+        }
+    }
+}
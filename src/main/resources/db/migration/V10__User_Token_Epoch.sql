@@ -0,0 +1,8 @@
+-- V10: User Token Epoch
+-- Access tokens carry token_epoch; bumping it invalidates every token issued before.
+-- token_epoch_changed_at lets each node poll for bumps made elsewhere.
+
+ALTER TABLE users
+    ADD COLUMN token_epoch INT NOT NULL DEFAULT 0,
+    ADD COLUMN token_epoch_changed_at TIMESTAMP NULL,
+    ADD INDEX idx_users_token_epoch_changed (token_epoch_changed_at);
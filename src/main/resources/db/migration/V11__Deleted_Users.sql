@@ -0,0 +1,12 @@
+-- V11: Deleted Users
+-- Tombstone per deleted user, polled by every node to reject the user's access tokens at once
+-- (a deleted users row cannot carry a token_epoch bump). Rows are useless after expires_at, one
+-- access-token lifetime after the deletion, and are purged by maintenance.
+
+CREATE TABLE IF NOT EXISTS deleted_users (
+    user_id BINARY(16) PRIMARY KEY,
+    deleted_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    INDEX idx_deleted_users_expires (expires_at),
+    INDEX idx_deleted_users_deleted (deleted_at)
+) ENGINE=InnoDB COMMENT='Deleted users whose access tokens may still be unexpired';
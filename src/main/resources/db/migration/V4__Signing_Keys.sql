@@ -0,0 +1,12 @@
+-- V4: JWT Signing Key Ring
+-- Asymmetric keys shared by all auth-service nodes; public halves are published at /.well-known/jwks.json
+
+CREATE TABLE IF NOT EXISTS signing_keys (
+    kid VARCHAR(64) PRIMARY KEY,
+    algorithm VARCHAR(10) NOT NULL,
+    public_key TEXT NOT NULL,
+    private_key TEXT NOT NULL,
+    activated_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_activated_at (activated_at)
+) ENGINE=InnoDB COMMENT='JWT signing keys (private key encrypted at rest)';
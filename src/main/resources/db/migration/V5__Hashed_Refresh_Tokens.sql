@@ -0,0 +1,14 @@
+-- V5: Hashed Refresh Tokens
+-- Refresh tokens are stored as a SHA-256 digest instead of the raw token.
+-- Existing rows are converted in place, so tokens already issued keep working until they expire.
+
+ALTER TABLE refresh_tokens
+    ADD COLUMN token_hash BINARY(32) NULL AFTER user_id;
+
+UPDATE refresh_tokens
+SET token_hash = UNHEX(SHA2(token, 256));
+
+ALTER TABLE refresh_tokens
+    MODIFY COLUMN token_hash BINARY(32) NOT NULL,
+    ADD UNIQUE INDEX uk_refresh_tokens_token_hash (token_hash),
+    DROP COLUMN token;
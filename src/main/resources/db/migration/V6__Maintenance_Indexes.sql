@@ -0,0 +1,8 @@
+-- V6: Maintenance Indexes
+-- Let the background cleanup find revoked tokens and lapsed account locks without full scans
+
+ALTER TABLE refresh_tokens
+    ADD INDEX idx_refresh_tokens_revoked (is_revoked, created_at);
+
+ALTER TABLE users
+    ADD INDEX idx_account_locked_until (account_locked_until);
@@ -0,0 +1,7 @@
+-- V7: User Listing Indexes
+-- Keyset pagination orders by (created_at, user_id); each filter gets a matching prefix
+
+ALTER TABLE users
+    ADD INDEX idx_users_created (created_at, user_id),
+    ADD INDEX idx_users_type_created (user_type, created_at, user_id),
+    ADD INDEX idx_users_active_created (is_active, created_at, user_id);
@@ -0,0 +1,64 @@
+-- V8: Binary UUID Keys
+-- UUID keys move from VARCHAR(36) to BINARY(16). Existing values are converted with UUID_TO_BIN
+-- (no swap flag); new keys are UUIDv7, whose leading timestamp already makes them insert in order.
+-- Each column goes VARCHAR -> VARBINARY(36) -> converted in place -> BINARY(16), so primary keys
+-- and secondary indexes stay in place. Foreign keys are dropped while the column types differ.
+
+ALTER TABLE user_roles DROP FOREIGN KEY user_roles_ibfk_1;
+ALTER TABLE refresh_tokens DROP FOREIGN KEY refresh_tokens_ibfk_1;
+ALTER TABLE company_key_people DROP FOREIGN KEY company_key_people_ibfk_1;
+
+-- users (updated_at is kept as is: the key change is not a profile update)
+ALTER TABLE users MODIFY user_id VARBINARY(36) NOT NULL;
+UPDATE users SET user_id = UUID_TO_BIN(user_id), updated_at = updated_at;
+ALTER TABLE users MODIFY user_id BINARY(16) NOT NULL;
+
+ALTER TABLE user_roles MODIFY user_id VARBINARY(36) NOT NULL;
+UPDATE user_roles SET user_id = UUID_TO_BIN(user_id);
+ALTER TABLE user_roles MODIFY user_id BINARY(16) NOT NULL;
+
+-- refresh_tokens
+ALTER TABLE refresh_tokens
+    MODIFY token_id VARBINARY(36) NOT NULL,
+    MODIFY user_id VARBINARY(36) NOT NULL;
+UPDATE refresh_tokens SET token_id = UUID_TO_BIN(token_id), user_id = UUID_TO_BIN(user_id);
+ALTER TABLE refresh_tokens
+    MODIFY token_id BINARY(16) NOT NULL,
+    MODIFY user_id BINARY(16) NOT NULL;
+
+-- campus_profiles
+ALTER TABLE campus_profiles
+    MODIFY campus_id VARBINARY(36) NOT NULL,
+    MODIFY user_id VARBINARY(36) NOT NULL;
+UPDATE campus_profiles
+SET campus_id = UUID_TO_BIN(campus_id), user_id = UUID_TO_BIN(user_id), updated_at = updated_at;
+ALTER TABLE campus_profiles
+    MODIFY campus_id BINARY(16) NOT NULL,
+    MODIFY user_id BINARY(16) NOT NULL;
+
+-- company_profiles and company_key_people
+ALTER TABLE company_profiles
+    MODIFY company_id VARBINARY(36) NOT NULL,
+    MODIFY user_id VARBINARY(36) NOT NULL;
+UPDATE company_profiles
+SET company_id = UUID_TO_BIN(company_id), user_id = UUID_TO_BIN(user_id), updated_at = updated_at;
+ALTER TABLE company_profiles
+    MODIFY company_id BINARY(16) NOT NULL,
+    MODIFY user_id BINARY(16) NOT NULL;
+
+ALTER TABLE company_key_people
+    MODIFY key_person_id VARBINARY(36) NOT NULL,
+    MODIFY company_id VARBINARY(36) NOT NULL;
+UPDATE company_key_people SET key_person_id = UUID_TO_BIN(key_person_id), company_id = UUID_TO_BIN(company_id);
+ALTER TABLE company_key_people
+    MODIFY key_person_id BINARY(16) NOT NULL,
+    MODIFY company_id BINARY(16) NOT NULL;
+
+-- Restore the foreign keys on the converted columns
+ALTER TABLE user_roles
+    ADD CONSTRAINT user_roles_ibfk_1 FOREIGN KEY (user_id) REFERENCES users (user_id) ON DELETE CASCADE;
+ALTER TABLE refresh_tokens
+    ADD CONSTRAINT refresh_tokens_ibfk_1 FOREIGN KEY (user_id) REFERENCES users (user_id) ON DELETE CASCADE;
+ALTER TABLE company_key_people
+    ADD CONSTRAINT company_key_people_ibfk_1 FOREIGN KEY (company_id)
+        REFERENCES company_profiles (company_id) ON DELETE CASCADE;
@@ -0,0 +1,11 @@
+-- V9: Revoked Access Tokens
+-- jti of access tokens revoked before their exp; loaded into the in-memory denylist on startup
+-- and polled by other nodes. Rows are useless after expires_at and are purged by maintenance.
+
+CREATE TABLE IF NOT EXISTS revoked_access_tokens (
+    jti BINARY(16) PRIMARY KEY,
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP NOT NULL,
+    INDEX idx_revoked_access_tokens_expires (expires_at),
+    INDEX idx_revoked_access_tokens_revoked (revoked_at)
+) ENGINE=InnoDB COMMENT='Access token denylist (jti until exp)';
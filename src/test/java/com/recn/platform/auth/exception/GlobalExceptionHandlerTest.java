@@ -0,0 +1,39 @@
+package com.recn.platform.auth.exception;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.recn.platform.auth.enums.UserType;
+import com.recn.platform.auth.support.IntegrationTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class GlobalExceptionHandlerTest extends IntegrationTest {
+
+    @Test
+    void malformedCursorIsABadRequestWithAFixedMessage() throws Exception {
+        String email = uniqueEmail("cursor-admin");
+        register(email, UserType.ADMIN);
+        JsonNode admin = login(email);
+
+        // Valid Base64 without the separator, so decoding fails after the Base64 step
+        mockMvc.perform(bearer(get("/users").param("cursor", "bm90LWEtY3Vyc29y"), admin))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid cursor"));
+    }
+
+    @Test
+    void mismatchedPasswordsAreABadRequest() throws Exception {
+        mockMvc.perform(json(post("/auth/register"), Map.of(
+                        "email", uniqueEmail("mismatch"),
+                        "password", PASSWORD,
+                        "confirmPassword", PASSWORD + "x",
+                        "userType", UserType.STUDENT.name())))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Passwords do not match"));
+    }
+}
@@ -0,0 +1,33 @@
+package com.recn.platform.auth.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Meters are registered on ApplicationReadyEvent; a failure there fails the context, and so this test
+@SpringBootTest
+@ActiveProfiles("test")
+class SecondLevelCacheMetricsTest {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void registersDomainRegionsAndQueryCache() {
+        assertThat(meterRegistry.find("auth.cache.l2.hit.ratio").tag("region", "roles").gauge()).isNotNull();
+        assertThat(meterRegistry.find("auth.cache.l2.hits").tag("region", "companies").functionCounter()).isNotNull();
+        assertThat(meterRegistry.find("auth.cache.l2.hit.ratio").tag("region", "query-results").gauge()).isNotNull();
+    }
+
+    @Test
+    void skipsQueryAndTimestampRegions() {
+        assertThat(meterRegistry.find("auth.cache.l2.hits").tag("region", "default-query-results-region").meters())
+                .isEmpty();
+        assertThat(meterRegistry.find("auth.cache.l2.hits").tag("region", "default-update-timestamps-region").meters())
+                .isEmpty();
+    }
+}
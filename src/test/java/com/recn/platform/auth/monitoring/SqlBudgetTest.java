@@ -0,0 +1,183 @@
+package com.recn.platform.auth.monitoring;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.recn.platform.auth.entity.Campus;
+import com.recn.platform.auth.entity.Company;
+import com.recn.platform.auth.entity.CompanyKeyPerson;
+import com.recn.platform.auth.enums.UserType;
+import com.recn.platform.auth.repository.CampusRepository;
+import com.recn.platform.auth.repository.CompanyRepository;
+import com.recn.platform.auth.support.IntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Runs every handler that declares a {@link SqlBudget} and fails when it issues more statements than
+ * its budget, so an N+1 or a lost fetch plan breaks the build instead of only logging a warning.
+ */
+class SqlBudgetTest extends IntegrationTest {
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @Autowired
+    private CampusRepository campusRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    private String email;
+    private JsonNode user;
+    private JsonNode admin;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        email = uniqueEmail("budget");
+        register(email, UserType.STUDENT);
+        user = login(email);
+
+        String adminEmail = uniqueEmail("budget-admin");
+        register(adminEmail, UserType.ADMIN);
+        admin = login(adminEmail);
+    }
+
+    @Test
+    void register() throws Exception {
+        withinBudget(json(post("/auth/register"), Map.of(
+                "email", uniqueEmail("budget-register"),
+                "password", PASSWORD,
+                "confirmPassword", PASSWORD,
+                "userType", "STUDENT"
+        )));
+    }
+
+    @Test
+    void login() throws Exception {
+        withinBudget(json(post("/auth/login"), Map.of("email", email, "password", PASSWORD)));
+    }
+
+    @Test
+    void refreshToken() throws Exception {
+        withinBudget(json(post("/auth/refresh-token"), Map.of("refreshToken", user.path("refreshToken").asText())));
+    }
+
+    @Test
+    void currentUser() throws Exception {
+        withinBudget(bearer(get("/auth/me"), user));
+    }
+
+    @Test
+    void logout() throws Exception {
+        withinBudget(bearer(post("/auth/logout"), user));
+    }
+
+    @Test
+    void logoutEverywhere() throws Exception {
+        withinBudget(bearer(post("/auth/logout-all"), user));
+    }
+
+    @Test
+    void markProfileCompleted() throws Exception {
+        withinBudget(json(bearer(post("/auth/profile/complete"), user), Map.of("profileServiceId", "student-1")));
+    }
+
+    @Test
+    void selectUserType() throws Exception {
+        withinBudget(json(bearer(post("/auth/select-user-type"), user), Map.of("userType", "CAMPUS")));
+    }
+
+    @Test
+    void userById() throws Exception {
+        withinBudget(bearer(get("/users/{userId}", user.path("userId").asText()), admin));
+    }
+
+    @Test
+    void userByEmail() throws Exception {
+        withinBudget(bearer(get("/users/email/{email}", email), admin));
+    }
+
+    @Test
+    void userListings() throws Exception {
+        withinBudget(bearer(get("/users").param("size", "10"), admin));
+        withinBudget(bearer(get("/users/type/{userType}", "STUDENT").param("size", "10"), admin));
+        withinBudget(bearer(get("/users/active").param("size", "10"), admin));
+    }
+
+    @Test
+    void updateUserStatus() throws Exception {
+        withinBudget(bearer(patch("/users/{userId}/status", user.path("userId").asText())
+                .param("isActive", "false"), admin));
+    }
+
+    @Test
+    void verifyUser() throws Exception {
+        withinBudget(bearer(patch("/users/{userId}/verify", user.path("userId").asText()), admin));
+    }
+
+    @Test
+    void campus() throws Exception {
+        Campus campus = campusRepository.save(Campus.builder()
+                .userId(user.path("userId").asText())
+                .campusName("Test Campus")
+                .adminName("Admin")
+                .adminEmail(email)
+                .adminPhone("+911234567890")
+                .campusAddress("Somewhere")
+                .build());
+
+        withinBudget(bearer(get("/campus/{campusId}", campus.getCampusId()), user));
+    }
+
+    @Test
+    void company() throws Exception {
+        Company company = Company.builder()
+                .userId(user.path("userId").asText())
+                .companyName("Test Company")
+                .adminName("Admin")
+                .adminDesignation("HR")
+                .adminEmail(email)
+                .adminPhone("+911234567890")
+                .aboutCompany("About")
+                .companyAddress("Somewhere")
+                .build();
+        for (String name : new String[]{"Alice", "Bob", "Carol"}) {
+            company.getKeyPeople().add(CompanyKeyPerson.builder()
+                    .company(company)
+                    .name(name)
+                    .designation("Director")
+                    .build());
+        }
+        company = companyRepository.save(company);
+
+        withinBudget(bearer(get("/company/{companyId}", company.getCompanyId()), user));
+        // Warm: served from the second-level cache
+        withinBudget(bearer(get("/company/{companyId}", company.getCompanyId()), user));
+    }
+
+    // MockMvc runs the request on this thread, so the counter holds the handler's statements afterwards
+    private void withinBudget(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        int statements = sqlStatementCounter.current();
+
+        assertThat(result.getResponse().getStatus())
+                .as("status of %s: %s", request, result.getResponse().getContentAsString())
+                .isBetween(200, 299);
+        HandlerMethod handler = (HandlerMethod) result.getHandler();
+        SqlBudget budget = handler.getMethodAnnotation(SqlBudget.class);
+        assertThat(budget).as("@SqlBudget on %s", handler.getShortLogMessage()).isNotNull();
+        assertThat(statements)
+                .as("SQL statements issued by %s", handler.getShortLogMessage())
+                .isLessThanOrEqualTo(budget.value());
+    }
+}
@@ -0,0 +1,76 @@
+package com.recn.platform.auth.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.recn.platform.auth.entity.Campus;
+import com.recn.platform.auth.entity.Role;
+import com.recn.platform.auth.enums.UserType;
+import com.recn.platform.auth.support.IntegrationTest;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Native bulk writes name their table; without it Hibernate evicts every second-level cache region
+class BulkWriteCacheTest extends IntegrationTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CampusRepository campusRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private RevokedAccessTokenRepository revokedAccessTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void refreshAndMaintenanceKeepUnrelatedRegions() throws Exception {
+        String email = uniqueEmail("bulk-write");
+        register(email, UserType.CAMPUS);
+        JsonNode auth = login(email);
+
+        Campus campus = campusRepository.save(Campus.builder()
+                .userId(auth.path("userId").asText())
+                .campusName("Cached Campus")
+                .adminName("Admin")
+                .adminEmail(email)
+                .adminPhone("+911234567890")
+                .campusAddress("Somewhere")
+                .build());
+        mockMvc.perform(bearer(get("/campus/{campusId}", campus.getCampusId()), auth)).andExpect(status().isOk());
+        Integer roleId = roleRepository.findByRoleName("CAMPUS_ADMIN").orElseThrow().getRoleId();
+
+        assertCached(campus.getCampusId(), roleId);
+
+        mockMvc.perform(json(post("/auth/refresh-token"), Map.of("refreshToken", auth.path("refreshToken").asText())))
+                .andExpect(status().isOk());
+        assertCached(campus.getCampusId(), roleId);
+
+        // deleteExpiredTokensBatch carries the same hint; its DELETE ... ORDER BY is MySQL-only
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.deleteRevokedTokensBatch(now, 10);
+        revokedAccessTokenRepository.deleteExpiredBatch(now, 10);
+        userRepository.clearExpiredLocksBatch(now, 10);
+        assertCached(campus.getCampusId(), roleId);
+    }
+
+    private void assertCached(String campusId, Integer roleId) {
+        assertThat(entityManagerFactory.getCache().contains(Campus.class, campusId)).isTrue();
+        assertThat(entityManagerFactory.getCache().contains(Role.class, roleId)).isTrue();
+    }
+}
@@ -0,0 +1,114 @@
+package com.recn.platform.auth.security;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachedBodyHttpServletRequestTest {
+
+    @Test
+    void bufferedBodyIsDeliveredToAReadListener() throws Exception {
+        byte[] body = "{\"email\":\"a@example.com\"}".getBytes(StandardCharsets.UTF_8);
+        CachedBodyHttpServletRequest request = new CachedBodyHttpServletRequest(new MockHttpServletRequest(), body, true);
+
+        CollectingListener listener = new CollectingListener(request.getInputStream());
+
+        assertThat(listener.allDataRead).isTrue();
+        assertThat(listener.bytes.toByteArray()).isEqualTo(body);
+    }
+
+    @Test
+    void headAndRestAreDeliveredToAReadListener() throws Exception {
+        MockHttpServletRequest original = new MockHttpServletRequest() {
+            @Override
+            public ServletInputStream getInputStream() {
+                return new ContainerStream("-rest".getBytes(StandardCharsets.UTF_8));
+            }
+        };
+        byte[] head = "head".getBytes(StandardCharsets.UTF_8);
+        CachedBodyHttpServletRequest request = new CachedBodyHttpServletRequest(original, head, false);
+
+        CollectingListener listener = new CollectingListener(request.getInputStream());
+
+        assertThat(listener.allDataRead).isTrue();
+        assertThat(listener.bytes.toString(StandardCharsets.UTF_8)).isEqualTo("head-rest");
+    }
+
+    // Reads whatever is ready, the way a non-blocking consumer does
+    private static final class CollectingListener implements ReadListener {
+
+        private final ServletInputStream in;
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private boolean allDataRead;
+
+        CollectingListener(ServletInputStream in) {
+            this.in = in;
+            in.setReadListener(this);
+        }
+
+        @Override
+        public void onDataAvailable() throws IOException {
+            byte[] buffer = new byte[3];
+            while (in.isReady() && !in.isFinished()) {
+                int n = in.read(buffer, 0, buffer.length);
+                if (n < 0) {
+                    break;
+                }
+                bytes.write(buffer, 0, n);
+            }
+        }
+
+        @Override
+        public void onAllDataRead() {
+            allDataRead = true;
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            throw new AssertionError(t);
+        }
+    }
+
+    // Stands in for the container's stream: signals data, then the end, as soon as a listener is set
+    private static final class ContainerStream extends ServletInputStream {
+
+        private final ByteArrayInputStream in;
+
+        ContainerStream(byte[] data) {
+            this.in = new ByteArrayInputStream(data);
+        }
+
+        @Override
+        public int read() {
+            return in.read();
+        }
+
+        @Override
+        public boolean isFinished() {
+            return in.available() == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            try {
+                readListener.onDataAvailable();
+                readListener.onAllDataRead();
+            } catch (IOException e) {
+                readListener.onError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.recn.platform.auth.security;
+
+import com.recn.platform.auth.enums.UserType;
+import com.recn.platform.auth.support.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs on a real port so the request passes through Tomcat's RemoteIpValve; the resolved IP is
+// observed through the address recorded on the refresh token at login
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ClientIpTest extends IntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void socketAddressWithoutForwardedHeader() throws Exception {
+        assertThat(loginFrom(null)).isEqualTo("127.0.0.1");
+    }
+
+    @Test
+    void clientSuppliedPrefixIsIgnored() throws Exception {
+        // The test client connects from loopback, a trusted proxy; the right-most untrusted hop wins
+        assertThat(loginFrom("198.51.100.66, 203.0.113.7")).isEqualTo("203.0.113.7");
+    }
+
+    @Test
+    void trustedProxyHopsAreSkipped() throws Exception {
+        assertThat(loginFrom("198.51.100.66, 203.0.113.7, 10.0.0.5")).isEqualTo("203.0.113.7");
+    }
+
+    private String loginFrom(String forwardedFor) throws Exception {
+        String email = uniqueEmail("client-ip");
+        String userId = register(email, UserType.STUDENT).path("userId").asText();
+        // Drop the token issued at registration so only the login's remains
+        jdbcTemplate.update("DELETE FROM refresh_tokens WHERE user_id = UUID_TO_BIN(?)", userId);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (forwardedFor != null) {
+            headers.set("X-Forwarded-For", forwardedFor);
+        }
+        ResponseEntity<String> response = restTemplate.postForEntity("/auth/login",
+                new HttpEntity<>(Map.of("email", email, "password", PASSWORD), headers), String.class);
+        assertThat(response.getStatusCode().is2xxSuccessful()).isTrue();
+
+        return jdbcTemplate.queryForObject("SELECT ip_address FROM refresh_tokens WHERE user_id = UUID_TO_BIN(?)",
+                String.class, userId);
+    }
+}
@@ -0,0 +1,88 @@
+package com.recn.platform.auth.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    // One request per email, so a second one is rejected only if the email was inspected
+    private final RateLimitFilter filter = new RateLimitFilter(new ObjectMapper().findAndRegisterModules(), new SimpleMeterRegistry(), true,
+            100, Duration.ofMinutes(1), 1, Duration.ofMinutes(1), 100, Duration.ofSeconds(1), 1000);
+
+    @Test
+    void smallBodyIsInspectedAndReplayed() throws Exception {
+        String body = loginBody("small@example.com", 0);
+
+        assertThat(passedBody(login(body))).isEqualTo(body);
+        assertThat(filter(login(body)).getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void declaredOversizedBodyIsPassedThroughUnread() throws Exception {
+        String body = loginBody("declared@example.com", 32 * 1024);
+        MockHttpServletRequest request = login(body);
+
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isSameAs(request);
+        assertThat(filter(login(body)).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void undeclaredOversizedBodyIsReplayedWithoutBufferingIt() throws Exception {
+        String body = loginBody("chunked@example.com", 32 * 1024);
+
+        assertThat(passedBody(chunked(login(body)))).isEqualTo(body);
+        assertThat(filter(chunked(login(body))).getStatus()).isEqualTo(200);
+    }
+
+    private String passedBody(HttpServletRequest request) throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        return new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    private MockHttpServletResponse filter(HttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static String loginBody(String email, int padding) {
+        return "{\"email\":\"" + email + "\",\"password\":\"" + "x".repeat(padding) + "\"}";
+    }
+
+    private static MockHttpServletRequest login(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/login");
+        request.setServletPath("/auth/login");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    // Transfer-Encoding: chunked, no Content-Length
+    private static HttpServletRequest chunked(HttpServletRequest request) {
+        return new HttpServletRequestWrapper(request) {
+            @Override
+            public int getContentLength() {
+                return -1;
+            }
+
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+    }
+}
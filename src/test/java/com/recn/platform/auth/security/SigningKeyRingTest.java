@@ -0,0 +1,146 @@
+package com.recn.platform.auth.security;
+
+import com.recn.platform.auth.entity.SigningKey;
+import com.recn.platform.auth.maintenance.AdvisoryLock;
+import com.recn.platform.auth.repository.SigningKeyRepository;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SigningKeyRingTest {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+    private static final long ACCESS_TOKEN_MILLIS = 900_000;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void legacyTokensAreRejectedByDefault() {
+        SigningKeyRing ring = ring(false, ACCESS_TOKEN_MILLIS);
+
+        assertThatThrownBy(() -> parse(ring, legacyToken())).isInstanceOf(UnsupportedJwtException.class);
+        assertThat(legacyCount("rejected")).isEqualTo(1);
+    }
+
+    @Test
+    void legacyTokensAreAcceptedAndCountedDuringMigration() {
+        SigningKeyRing ring = ring(true, ACCESS_TOKEN_MILLIS);
+
+        assertThat(parse(ring, legacyToken())).isEqualTo("legacy@example.com");
+        assertThat(legacyCount("accepted")).isEqualTo(1);
+    }
+
+    @Test
+    void legacyTokensAreRejectedOnceTheCutoffHasPassed() {
+        // The first key started signing at init; with a zero lifetime the cutoff is already behind us
+        SigningKeyRing ring = ring(true, 0);
+
+        assertThatThrownBy(() -> parse(ring, legacyToken())).isInstanceOf(UnsupportedJwtException.class);
+        assertThat(legacyCount("rejected")).isEqualTo(1);
+    }
+
+    @Test
+    void aNodeStartingAfterAnotherReusesItsKey() {
+        List<SigningKey> store = new ArrayList<>();
+        SigningKeyRepository repository = repository(store);
+
+        SigningKeyRing first = ring(repository, freeLock(), false, ACCESS_TOKEN_MILLIS);
+        SigningKeyRing second = ring(repository, freeLock(), false, ACCESS_TOKEN_MILLIS);
+
+        // The second node re-read the keys under the lock and found the first node's key
+        assertThat(store).hasSize(1);
+        assertThat(second.currentSigningKey().kid()).isEqualTo(first.currentSigningKey().kid());
+    }
+
+    @Test
+    void aNodeWithoutTheLockOnlyReloads() {
+        List<SigningKey> store = new ArrayList<>();
+        SigningKeyRepository repository = repository(store);
+        SigningKeyRing holder = ring(repository, freeLock(), false, ACCESS_TOKEN_MILLIS);
+
+        SigningKeyRing other = ring(repository, heldLock(), false, ACCESS_TOKEN_MILLIS);
+
+        verify(repository, times(1)).save(any(SigningKey.class));
+        assertThat(other.currentSigningKey().kid()).isEqualTo(holder.currentSigningKey().kid());
+        assertThat(other.getPublishedJwks()).hasSize(1);
+    }
+
+    private SigningKeyRing ring(boolean acceptLegacyHmac, long accessTokenExpiration) {
+        return ring(repository(new ArrayList<>()), freeLock(), acceptLegacyHmac, accessTokenExpiration);
+    }
+
+    private static SigningKeyRepository repository(List<SigningKey> store) {
+        SigningKeyRepository repository = mock(SigningKeyRepository.class);
+        when(repository.findAllByOrderByActivatedAtAscKidAsc()).thenAnswer(invocation -> new ArrayList<>(store));
+        when(repository.save(any(SigningKey.class))).thenAnswer(invocation -> {
+            store.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        return repository;
+    }
+
+    private static AdvisoryLock freeLock() {
+        return new AdvisoryLock(null) {
+            @Override
+            public boolean runExclusively(String lockName, Duration wait, Runnable task) {
+                task.run();
+                return true;
+            }
+        };
+    }
+
+    // Another node holds the lock for longer than we wait
+    private static AdvisoryLock heldLock() {
+        return new AdvisoryLock(null) {
+            @Override
+            public boolean runExclusively(String lockName, Duration wait, Runnable task) {
+                return false;
+            }
+        };
+    }
+
+    private SigningKeyRing ring(SigningKeyRepository repository, AdvisoryLock advisoryLock,
+                                boolean acceptLegacyHmac, long accessTokenExpiration) {
+        SigningKeyRing ring = new SigningKeyRing(repository, meterRegistry, advisoryLock);
+        ReflectionTestUtils.setField(ring, "secret", SECRET);
+        ReflectionTestUtils.setField(ring, "algorithm", SigningKeyRing.ES256);
+        ReflectionTestUtils.setField(ring, "rotationPeriod", Duration.ofDays(30));
+        ReflectionTestUtils.setField(ring, "publishAhead", Duration.ofHours(1));
+        ReflectionTestUtils.setField(ring, "overlap", Duration.ofDays(8));
+        ReflectionTestUtils.setField(ring, "acceptLegacyHmac", acceptLegacyHmac);
+        ReflectionTestUtils.setField(ring, "accessTokenExpiration", accessTokenExpiration);
+        ring.init();
+        return ring;
+    }
+
+    private static String legacyToken() {
+        return Jwts.builder()
+                .subject("legacy@example.com")
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    private static String parse(SigningKeyRing ring, String token) {
+        return Jwts.parser().keyLocator(ring).build().parseSignedClaims(token).getPayload().getSubject();
+    }
+
+    private double legacyCount(String result) {
+        return meterRegistry.counter("auth.tokens.legacy-hmac", "result", result).count();
+    }
+}
@@ -0,0 +1,55 @@
+package com.recn.platform.auth.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.recn.platform.auth.enums.UserType;
+import com.recn.platform.auth.support.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TokenEpochRegistryTest extends IntegrationTest {
+
+    @Autowired
+    private TokenEpochRegistry tokenEpochRegistry;
+
+    @Test
+    void deletionInvalidatesTokensAndIsDroppedAfterTheirLifetime() throws Exception {
+        String email = uniqueEmail("deleted");
+        String userId = register(email, UserType.STUDENT).path("userId").asText();
+        String adminEmail = uniqueEmail("deleting-admin");
+        register(adminEmail, UserType.ADMIN);
+
+        mockMvc.perform(bearer(delete("/users/{userId}", userId), login(adminEmail)))
+                .andExpect(status().isOk());
+
+        assertThat(tokenEpochRegistry.isStale(userId, 0)).isTrue();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM deleted_users WHERE user_id = UUID_TO_BIN(?)", Integer.class, userId))
+                .isEqualTo(1);
+
+        tokenEpochRegistry.purgeDeleted(LocalDateTime.now().plusHours(1));
+        assertThat(tokenEpochRegistry.isStale(userId, 0)).isFalse();
+    }
+
+    @Test
+    void tombstoneWrittenByAnotherNodeRejectsAccessTokens() throws Exception {
+        String email = uniqueEmail("deleted-elsewhere");
+        register(email, UserType.STUDENT);
+        JsonNode auth = login(email);
+        mockMvc.perform(bearer(get("/auth/me"), auth)).andExpect(status().isOk());
+
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("INSERT INTO deleted_users (user_id, deleted_at, expires_at) VALUES (UUID_TO_BIN(?), ?, ?)",
+                auth.path("userId").asText(), Timestamp.valueOf(now), Timestamp.valueOf(now.plusMinutes(15)));
+        tokenEpochRegistry.sync();
+
+        mockMvc.perform(bearer(get("/auth/me"), auth)).andExpect(status().isUnauthorized());
+    }
+}
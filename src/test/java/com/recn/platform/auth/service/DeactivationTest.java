@@ -0,0 +1,59 @@
+package com.recn.platform.auth.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.recn.platform.auth.enums.UserType;
+import com.recn.platform.auth.support.IntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// A deactivated user must lose access at once: issued access tokens and refresh tokens alike
+class DeactivationTest extends IntegrationTest {
+
+    private JsonNode user;
+    private JsonNode admin;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String email = uniqueEmail("deactivated");
+        register(email, UserType.STUDENT);
+        user = login(email);
+
+        String adminEmail = uniqueEmail("deactivating-admin");
+        register(adminEmail, UserType.ADMIN);
+        admin = login(adminEmail);
+    }
+
+    @Test
+    void deactivationRejectsAccessAndRefreshTokens() throws Exception {
+        mockMvc.perform(bearer(get("/auth/me"), user)).andExpect(status().isOk());
+
+        deactivate();
+
+        mockMvc.perform(bearer(get("/auth/me"), user)).andExpect(status().isUnauthorized());
+        mockMvc.perform(json(post("/auth/refresh-token"), Map.of("refreshToken", user.path("refreshToken").asText())))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void refreshIsRejectedForInactiveUserEvenWithUnrevokedToken() throws Exception {
+        // Deactivated outside updateUserStatus, e.g. directly in the database
+        jdbcTemplate.update("UPDATE users SET is_active = FALSE WHERE user_id = UUID_TO_BIN(?)",
+                user.path("userId").asText());
+
+        mockMvc.perform(json(post("/auth/refresh-token"), Map.of("refreshToken", user.path("refreshToken").asText())))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private void deactivate() throws Exception {
+        mockMvc.perform(bearer(patch("/users/{userId}/status", user.path("userId").asText())
+                        .param("isActive", "false"), admin))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,53 @@
+package com.recn.platform.auth.service;
+
+import com.recn.platform.auth.enums.UserType;
+import com.recn.platform.auth.support.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The per-IP failure limit must follow the resolved client IP, not a client-supplied X-Forwarded-For
+class LoginLockoutTest extends IntegrationTest {
+
+    private static final String ATTACKER = "198.51.100.20";
+    private static final String VICTIM = "198.51.100.21";
+
+    @Value("${app.security.login-attempts.max-failed-per-ip}")
+    private int maxFailedPerIp;
+
+    @Test
+    void rotatingForwardedForDoesNotEscapeTheLimitOrLockOutOthers() throws Exception {
+        String victimEmail = uniqueEmail("lockout-victim");
+        register(victimEmail, UserType.STUDENT);
+
+        for (int i = 0; i < maxFailedPerIp; i++) {
+            mockMvc.perform(failedLogin("203.0.113." + i))
+                    .andExpect(status().isUnauthorized());
+        }
+        mockMvc.perform(failedLogin("203.0.113.250"))
+                .andExpect(status().isTooManyRequests());
+
+        // Spoofing the victim's address does not count against it
+        mockMvc.perform(failedLogin(VICTIM))
+                .andExpect(status().isTooManyRequests());
+        mockMvc.perform(from(VICTIM, json(post("/auth/login"), Map.of("email", victimEmail, "password", PASSWORD))))
+                .andExpect(status().isOk());
+    }
+
+    private MockHttpServletRequestBuilder failedLogin(String forwardedFor) throws Exception {
+        return from(ATTACKER, json(post("/auth/login"), Map.of("email", uniqueEmail("lockout"), "password", PASSWORD)))
+                .header("X-Forwarded-For", forwardedFor);
+    }
+
+    private static MockHttpServletRequestBuilder from(String remoteAddr, MockHttpServletRequestBuilder request) {
+        return request.with(r -> {
+            r.setRemoteAddr(remoteAddr);
+            return r;
+        });
+    }
+}
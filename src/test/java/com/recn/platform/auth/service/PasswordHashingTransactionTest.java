@@ -0,0 +1,51 @@
+package com.recn.platform.auth.service;
+
+import com.recn.platform.auth.enums.UserType;
+import com.recn.platform.auth.security.PasswordHashingExecutor;
+import com.recn.platform.auth.support.IntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// A hash can wait in the executor for seconds; the caller must not hold a pooled connection meanwhile
+class PasswordHashingTransactionTest extends IntegrationTest {
+
+    @SpyBean
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    private final List<Boolean> transactionActive = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void recordTransactionState() {
+        doAnswer(invocation -> {
+            transactionActive.add(TransactionSynchronizationManager.isActualTransactionActive());
+            return invocation.callRealMethod();
+        }).when(passwordHashingExecutor).encode(any());
+        doAnswer(invocation -> {
+            transactionActive.add(TransactionSynchronizationManager.isActualTransactionActive());
+            return invocation.callRealMethod();
+        }).when(passwordHashingExecutor).matches(any());
+    }
+
+    @Test
+    void registerAndLoginHashOutsideTransactions() throws Exception {
+        String email = uniqueEmail("hash-tx");
+        register(email, UserType.STUDENT);
+        login(email);
+        mockMvc.perform(json(post("/auth/login"), Map.of("email", email, "password", "Wr0ngPassword!")))
+                .andExpect(status().isUnauthorized());
+
+        assertThat(transactionActive).hasSizeGreaterThanOrEqualTo(3).containsOnly(false);
+    }
+}
@@ -0,0 +1,109 @@
+package com.recn.platform.auth.service;
+
+import com.recn.platform.auth.dto.response.UserResponse;
+import com.recn.platform.auth.entity.Role;
+import com.recn.platform.auth.entity.User;
+import com.recn.platform.auth.enums.UserType;
+import com.recn.platform.auth.monitoring.SqlStatementCounter;
+import com.recn.platform.auth.repository.UserRepository;
+import com.recn.platform.auth.support.IntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Single-user reads use the aggregating UserView query; they must match the former entity-graph mapping
+class UserServiceProjectionTest extends IntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private String email;
+    private String userId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        email = uniqueEmail("projection");
+        userId = register(email, UserType.STUDENT).path("userId").asText();
+
+        // Every mapped column non-null, and more than one role to aggregate
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        jdbcTemplate.update("UPDATE users SET last_login = ?, account_locked_until = ?, failed_login_attempts = 3, "
+                + "is_verified = TRUE WHERE user_id = UUID_TO_BIN(?)", now.minusHours(1), now.plusMinutes(30), userId);
+        jdbcTemplate.update("INSERT INTO user_roles (user_id, role_id) "
+                + "SELECT UUID_TO_BIN(?), role_id FROM roles WHERE role_name IN ('CAMPUS_ADMIN', 'SUPER_ADMIN')", userId);
+    }
+
+    @Test
+    void byIdMatchesEntityMappingInOneStatement() {
+        UserResponse expected = fromEntity();
+
+        UserResponse actual = countingOne(() -> userService.getUserById(userId));
+
+        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+        assertThat(actual.getRoles()).containsExactlyInAnyOrder("STUDENT", "CAMPUS_ADMIN", "SUPER_ADMIN");
+    }
+
+    @Test
+    void byEmailMatchesEntityMappingInOneStatement() {
+        UserResponse expected = fromEntity();
+
+        UserResponse actual = countingOne(() -> userService.getUserByEmail(email));
+
+        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+    }
+
+    @Test
+    void userWithoutRolesHasEmptyRoles() {
+        jdbcTemplate.update("DELETE FROM user_roles WHERE user_id = UUID_TO_BIN(?)", userId);
+        UserResponse expected = fromEntity();
+
+        UserResponse actual = countingOne(() -> userService.getUserById(userId));
+
+        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+        assertThat(actual.getRoles()).isEmpty();
+    }
+
+    private UserResponse countingOne(Supplier<UserResponse> read) {
+        sqlStatementCounter.reset();
+        UserResponse response = read.get();
+        assertThat(sqlStatementCounter.current()).as("SQL statements").isEqualTo(1);
+        return response;
+    }
+
+    // The mapping the service used before the projection: User entity plus its role graph
+    private UserResponse fromEntity() {
+        return transactionTemplate.execute(status -> {
+            User user = userRepository.findWithRolesByEmail(email).orElseThrow();
+            return UserResponse.builder()
+                    .userId(user.getUserId())
+                    .email(user.getEmail())
+                    .userType(user.getUserType())
+                    .isVerified(user.getIsVerified())
+                    .isActive(user.getIsActive())
+                    .lastLogin(user.getLastLogin())
+                    .failedLoginAttempts(user.getFailedLoginAttempts())
+                    .accountLockedUntil(user.getAccountLockedUntil())
+                    .roles(user.getRoles().stream().map(Role::getRoleName).collect(Collectors.toSet()))
+                    .createdAt(user.getCreatedAt())
+                    .updatedAt(user.getUpdatedAt())
+                    .build();
+        });
+    }
+}
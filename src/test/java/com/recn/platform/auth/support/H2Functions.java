@@ -0,0 +1,41 @@
+package com.recn.platform.auth.support;
+
+import com.recn.platform.auth.entity.id.Uuids;
+
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * MySQL functions used by native queries, registered as H2 aliases by {@code h2-functions.sql}.
+ */
+public final class H2Functions {
+
+    private H2Functions() {
+    }
+
+    public static byte[] uuidToBin(String uuid) {
+        return uuid == null ? null : Uuids.toBytes(uuid);
+    }
+
+    public static String binToUuid(byte[] bytes) {
+        return bytes == null ? null : Uuids.fromBytes(bytes);
+    }
+
+    public static Long crc32(String value) {
+        if (value == null) {
+            return null;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(value.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+
+    // A single test database has no other node to contend with: named locks are always granted
+    public static Integer getLock(String name, Long timeoutSeconds) {
+        return 1;
+    }
+
+    public static Integer releaseLock(String name) {
+        return 1;
+    }
+}
@@ -0,0 +1,97 @@
+package com.recn.platform.auth.support;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recn.platform.auth.enums.UserType;
+import com.recn.platform.auth.service.RbacService;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Full application context on H2 (profile "test"), with the roles and permissions of the V2 seed
+ * migration and helpers to register and log in users through the API.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public abstract class IntegrationTest {
+
+    protected static final String PASSWORD = "Passw0rd!";
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    protected ObjectMapper objectMapper;
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RbacService rbacService;
+
+    @BeforeEach
+    void seedRbac() {
+        Integer roles = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM roles", Integer.class);
+        if (roles != null && roles > 0) {
+            return;
+        }
+        for (String role : new String[]{"SUPER_ADMIN", "CAMPUS_ADMIN", "STUDENT", "COMPANY_RECRUITER"}) {
+            jdbcTemplate.update("INSERT INTO roles (role_name, is_active, created_at) VALUES (?, TRUE, NOW())", role);
+        }
+        for (String permission : new String[]{"VIEW_DASHBOARD", "MANAGE_CAMPUSES", "MANAGE_STUDENTS"}) {
+            jdbcTemplate.update("INSERT INTO permissions (permission_name, resource, action, created_at) "
+                    + "VALUES (?, 'test', 'manage', NOW())", permission);
+        }
+        jdbcTemplate.update("INSERT INTO role_permissions (role_id, permission_id) "
+                + "SELECT r.role_id, p.permission_id FROM roles r, permissions p WHERE r.role_name = 'SUPER_ADMIN'");
+        rbacService.reload();
+    }
+
+    protected static String uniqueEmail(String prefix) {
+        return prefix + "-" + UUID.randomUUID() + "@example.com";
+    }
+
+    // Registers through the API and returns the AuthResponse payload
+    protected JsonNode register(String email, UserType userType) throws Exception {
+        return data(mockMvc.perform(json(post("/auth/register"), Map.of(
+                "email", email,
+                "password", PASSWORD,
+                "confirmPassword", PASSWORD,
+                "userType", userType.name()
+        ))).andReturn());
+    }
+
+    protected JsonNode login(String email) throws Exception {
+        return data(mockMvc.perform(json(post("/auth/login"), Map.of(
+                "email", email,
+                "password", PASSWORD
+        ))).andReturn());
+    }
+
+    protected MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder request, Object body) throws Exception {
+        return request.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(body));
+    }
+
+    protected static MockHttpServletRequestBuilder bearer(MockHttpServletRequestBuilder request, JsonNode auth) {
+        return request.header(HttpHeaders.AUTHORIZATION, "Bearer " + auth.path("accessToken").asText());
+    }
+
+    protected JsonNode data(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString()).path("data");
+    }
+}
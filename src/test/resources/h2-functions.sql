@@ -0,0 +1,5 @@
+CREATE ALIAS IF NOT EXISTS UUID_TO_BIN FOR "com.recn.platform.auth.support.H2Functions.uuidToBin";
+CREATE ALIAS IF NOT EXISTS BIN_TO_UUID FOR "com.recn.platform.auth.support.H2Functions.binToUuid";
+CREATE ALIAS IF NOT EXISTS CRC32 FOR "com.recn.platform.auth.support.H2Functions.crc32";
+CREATE ALIAS IF NOT EXISTS GET_LOCK FOR "com.recn.platform.auth.support.H2Functions.getLock";
+CREATE ALIAS IF NOT EXISTS RELEASE_LOCK FOR "com.recn.platform.auth.support.H2Functions.releaseLock";